@@ -0,0 +1,106 @@
+package com.logankulinski.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logankulinski.model.ButtonMetadata;
+import com.logankulinski.serialization.ButtonIdCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compares the binary button ID codec with the Base64-encoded JSON the listeners used before it, including the cost of
+ * turning away an ID that belongs to some other component.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ButtonIdBenchmark {
+    @Param({"Aether", "Shadow"})
+    private String dataCenterName;
+
+    private ObjectMapper mapper;
+
+    private ButtonIdCodec codec;
+
+    private ButtonMetadata metadata;
+
+    private String jsonId;
+
+    private String binaryId;
+
+    private String foreignId;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        this.mapper = new ObjectMapper();
+
+        this.codec = new ButtonIdCodec();
+
+        this.metadata = new ButtonMetadata(this.dataCenterName, 36030);
+
+        this.jsonId = this.encodeJson();
+
+        this.binaryId = this.codec.encode(this.metadata);
+
+        this.foreignId = "pagination:next:3";
+    }
+
+    @Benchmark
+    public String encodeJson() throws JsonProcessingException {
+        String json = this.mapper.writeValueAsString(this.metadata);
+
+        return Base64.getEncoder()
+                     .encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public ButtonMetadata decodeJson() throws JsonProcessingException {
+        byte[] bytes = Base64.getDecoder()
+                             .decode(this.jsonId);
+
+        return this.mapper.readValue(new String(bytes, StandardCharsets.UTF_8), ButtonMetadata.class);
+    }
+
+    @Benchmark
+    public Object rejectForeignJson() {
+        try {
+            byte[] bytes = Base64.getDecoder()
+                                 .decode(this.foreignId);
+
+            return this.mapper.readValue(new String(bytes, StandardCharsets.UTF_8), ButtonMetadata.class);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public String encodeBinary() {
+        return this.codec.encode(this.metadata);
+    }
+
+    @Benchmark
+    public ButtonMetadata decodeBinary() {
+        return this.codec.decode(this.binaryId);
+    }
+
+    @Benchmark
+    public ButtonMetadata rejectForeignBinary() {
+        return this.codec.decode(this.foreignId);
+    }
+}
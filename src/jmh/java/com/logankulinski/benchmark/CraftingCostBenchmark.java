@@ -0,0 +1,70 @@
+package com.logankulinski.benchmark;
+
+import de.chojo.universalis.worlds.DataCenter;
+import de.chojo.universalis.worlds.Worlds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CraftingCostBenchmark {
+    @Param({"34162", "36541", "36030"})
+    private int itemId;
+
+    @Param({"1", "10"})
+    private int craftCount;
+
+    private StubbedServices services;
+
+    private DataCenter dataCenter;
+
+    @Setup
+    public void setUp() {
+        this.services = new StubbedServices(Duration.ZERO, Duration.ofHours(1L));
+
+        this.dataCenter = Worlds.datacenterByName("Aether");
+
+        Long cost = this.services.craftingCostEngine.getCheapestCraftingCost(this.dataCenter, this.itemId,
+            this.craftCount, false);
+
+        if (cost == null) {
+            String message = "No crafting cost could be computed for item %d".formatted(this.itemId);
+
+            throw new IllegalStateException(message);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.services.close();
+    }
+
+    @Benchmark
+    public Long pooled() {
+        return this.services.craftingCostEngine.getCheapestCraftingCost(this.dataCenter, this.itemId,
+            this.craftCount, false);
+    }
+
+    @Benchmark
+    public Long singleWorld() {
+        return this.services.craftingCostEngine.getCheapestCraftingCost(this.dataCenter, this.itemId,
+            this.craftCount, true);
+    }
+}
@@ -0,0 +1,100 @@
+package com.logankulinski.benchmark;
+
+import com.logankulinski.client.UniversalisClient;
+import com.logankulinski.model.MarketBoard;
+import com.logankulinski.model.MarketBoards;
+import com.logankulinski.model.UniversalisDataCenter;
+import com.logankulinski.model.UniversalisWorld;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/*
+ * Serves the recorded Universalis market boards under fixtures/universalis, waiting out the configured latency once per
+ * request so a batched lookup costs one round trip just like the real endpoint. Only a handful of boards are recorded,
+ * so any other item is answered with one of them, chosen by item ID and relabelled, which keeps listing counts and
+ * price spreads realistic without recording every ingredient.
+ */
+public final class FixtureUniversalisClient implements UniversalisClient {
+    private final Duration latency;
+
+    private final List<MarketBoard> recordedBoards;
+
+    private static final List<String> FIXTURE_NAMES;
+
+    static {
+        FIXTURE_NAMES = List.of("market-board-5111", "market-board-27699", "market-board-36223");
+    }
+
+    public FixtureUniversalisClient(Duration latency) {
+        this.latency = Objects.requireNonNull(latency);
+
+        List<MarketBoard> recordedBoards = new ArrayList<>();
+
+        for (String name : FixtureUniversalisClient.FIXTURE_NAMES) {
+            MarketBoard marketBoard = Fixtures.readValue("universalis/%s".formatted(name), MarketBoard.class);
+
+            recordedBoards.add(marketBoard);
+        }
+
+        this.recordedBoards = List.copyOf(recordedBoards);
+    }
+
+    private MarketBoard getBoard(int itemId) {
+        for (MarketBoard marketBoard : this.recordedBoards) {
+            if (marketBoard.itemId() == itemId) {
+                return marketBoard;
+            }
+        }
+
+        int index = Math.floorMod(itemId, this.recordedBoards.size());
+
+        MarketBoard marketBoard = this.recordedBoards.get(index);
+
+        return new MarketBoard(itemId, marketBoard.lastUploadTime(), marketBoard.listings());
+    }
+
+    @Override
+    public MarketBoard getMarketBoard(String worldDcRegion, int itemId) {
+        Objects.requireNonNull(worldDcRegion);
+
+        Fixtures.simulateLatency(this.latency);
+
+        return this.getBoard(itemId);
+    }
+
+    @Override
+    public MarketBoards getMarketBoards(String worldDcRegion, String itemIds) {
+        Objects.requireNonNull(worldDcRegion);
+
+        Objects.requireNonNull(itemIds);
+
+        Fixtures.simulateLatency(this.latency);
+
+        List<Integer> ids = Arrays.stream(itemIds.split(","))
+                                  .map(String::strip)
+                                  .map(Integer::valueOf)
+                                  .toList();
+
+        Map<Integer, MarketBoard> items = new HashMap<>();
+
+        ids.forEach(id -> items.put(id, this.getBoard(id)));
+
+        return new MarketBoards(ids, items, List.of());
+    }
+
+    @Override
+    public List<UniversalisDataCenter> getDataCenters() {
+        return List.of();
+    }
+
+    @Override
+    public List<UniversalisWorld> getWorlds() {
+        return List.of();
+    }
+}
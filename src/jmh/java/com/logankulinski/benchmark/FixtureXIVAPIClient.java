@@ -0,0 +1,131 @@
+package com.logankulinski.benchmark;
+
+import com.logankulinski.client.XIVAPIClient;
+import com.logankulinski.model.Item;
+import com.logankulinski.model.Pagination;
+import com.logankulinski.model.Recipe;
+import com.logankulinski.model.Result;
+import com.logankulinski.model.SearchResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/*
+ * Serves the recorded XIVAPI responses under fixtures/xivapi, waiting out the configured latency before every call the
+ * way a round trip would. Items without a recorded response are treated as raw materials with no recipes, which is
+ * what XIVAPI returns for the gathered and vendor ingredients in the recorded recipes. Search and the item list are
+ * answered from the recorded items, on a single page. Asynchronous lookups each get a virtual thread, as cache misses
+ * do in CachingXIVAPIClient.
+ */
+public final class FixtureXIVAPIClient implements XIVAPIClient {
+    private final Duration latency;
+
+    private final Map<String, Optional<byte[]>> responses;
+
+    private final Executor executor;
+
+    private final List<Result> results;
+
+    private static final List<Integer> RECORDED_ITEM_IDS;
+
+    static {
+        RECORDED_ITEM_IDS = List.of(34162, 36030, 36541);
+    }
+
+    public FixtureXIVAPIClient(Duration latency) {
+        this.latency = Objects.requireNonNull(latency);
+
+        this.responses = new ConcurrentHashMap<>();
+
+        this.executor = runnable -> Thread.ofVirtual()
+                                          .start(runnable);
+
+        List<Result> results = new ArrayList<>();
+
+        for (int id : FixtureXIVAPIClient.RECORDED_ITEM_IDS) {
+            Item item = Fixtures.readValue("xivapi/item-%d".formatted(id), Item.class);
+
+            results.add(new Result(item.id(), null, item.name(), "/Item/%d".formatted(item.id()), "Item"));
+        }
+
+        this.results = List.copyOf(results);
+    }
+
+    private SearchResponse getSearchResponse(List<Result> results) {
+        Objects.requireNonNull(results);
+
+        Pagination pagination = new Pagination(1, null, null, 1, results.size(), results.size(), results.size());
+
+        return new SearchResponse(pagination, results);
+    }
+
+    private Optional<byte[]> getResponse(String name) {
+        Objects.requireNonNull(name);
+
+        return this.responses.computeIfAbsent(name,
+            key -> Optional.ofNullable(Fixtures.read("xivapi/%s".formatted(key))));
+    }
+
+    @Override
+    public SearchResponse search(String name) {
+        Objects.requireNonNull(name);
+
+        Fixtures.simulateLatency(this.latency);
+
+        String query = name.strip()
+                           .toLowerCase(Locale.ROOT);
+
+        List<Result> matches = this.results.stream()
+                                           .filter(result -> result.name()
+                                                                   .toLowerCase(Locale.ROOT)
+                                                                   .contains(query))
+                                           .toList();
+
+        return this.getSearchResponse(matches);
+    }
+
+    @Override
+    public SearchResponse getItems(int page) {
+        Fixtures.simulateLatency(this.latency);
+
+        return this.getSearchResponse((page == 1) ? this.results : List.of());
+    }
+
+    @Override
+    public Item getItem(int id) {
+        Fixtures.simulateLatency(this.latency);
+
+        return this.getResponse("item-%d".formatted(id))
+                   .map(bytes -> Fixtures.readValue(bytes, Item.class))
+                   .orElseGet(() -> new Item(id, "Item %d".formatted(id), List.of()));
+    }
+
+    @Override
+    public Recipe getRecipe(int id) {
+        Fixtures.simulateLatency(this.latency);
+
+        return this.getResponse("recipe-%d".formatted(id))
+                   .map(bytes -> Fixtures.readValue(bytes, Recipe.class))
+                   .orElseThrow(() -> new HttpClientErrorException(HttpStatus.NOT_FOUND));
+    }
+
+    @Override
+    public CompletableFuture<Item> getItemAsync(int id) {
+        return CompletableFuture.supplyAsync(() -> this.getItem(id), this.executor);
+    }
+
+    @Override
+    public CompletableFuture<Recipe> getRecipeAsync(int id) {
+        return CompletableFuture.supplyAsync(() -> this.getRecipe(id), this.executor);
+    }
+}
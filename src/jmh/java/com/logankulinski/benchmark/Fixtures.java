@@ -0,0 +1,73 @@
+package com.logankulinski.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Objects;
+
+final class Fixtures {
+    static final ObjectMapper MAPPER;
+
+    static {
+        MAPPER = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    private Fixtures() {
+        throw new AssertionError();
+    }
+
+    static byte[] read(String name) {
+        Objects.requireNonNull(name);
+
+        String path = "/fixtures/%s.json".formatted(name);
+
+        try (InputStream inputStream = Fixtures.class.getResourceAsStream(path)) {
+            if (inputStream == null) {
+                return null;
+            }
+
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static <T> T readValue(byte[] bytes, Class<T> type) {
+        Objects.requireNonNull(bytes);
+
+        Objects.requireNonNull(type);
+
+        try {
+            return Fixtures.MAPPER.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static <T> T readValue(String name, Class<T> type) {
+        byte[] bytes = Fixtures.read(name);
+
+        return Fixtures.readValue(Objects.requireNonNull(bytes, name), type);
+    }
+
+    static void simulateLatency(Duration latency) {
+        Objects.requireNonNull(latency);
+
+        if (latency.isZero()) {
+            return;
+        }
+
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+
+            throw new IllegalStateException(e);
+        }
+    }
+}
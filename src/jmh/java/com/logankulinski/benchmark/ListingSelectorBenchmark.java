@@ -0,0 +1,86 @@
+package com.logankulinski.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logankulinski.model.ListingSelection;
+import com.logankulinski.model.MarketBoard;
+import com.logankulinski.model.MarketListing;
+import com.logankulinski.service.ListingSelector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListingSelectorBenchmark {
+    @Param({"market-board-5111", "market-board-27699", "market-board-36223"})
+    private String fixture;
+
+    @Param({"20"})
+    private int limit;
+
+    private List<MarketListing> listings;
+
+    private List<Integer> getPrices(List<MarketListing> listings) {
+        return listings.stream()
+                       .map(MarketListing::pricePerUnit)
+                       .toList();
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        String name = "/fixtures/universalis/%s.json".formatted(this.fixture);
+
+        ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        MarketBoard marketBoard;
+
+        try (InputStream inputStream = ListingSelectorBenchmark.class.getResourceAsStream(name)) {
+            marketBoard = mapper.readValue(Objects.requireNonNull(inputStream, name), MarketBoard.class);
+        }
+
+        this.listings = marketBoard.listings();
+
+        ListingSelection selection = ListingSelector.select(this.listings, this.limit);
+
+        ListingSelection streamSelection = StreamListingSelector.select(this.listings, this.limit);
+
+        boolean equal = Objects.equals(selection.cheapestListings(), streamSelection.cheapestListings()) &&
+            Objects.equals(selection.worldListings(), streamSelection.worldListings()) &&
+            Objects.equals(this.getPrices(selection.topListings()), this.getPrices(streamSelection.topListings()));
+
+        if (!equal) {
+            String message = "The selectors disagree on %s".formatted(this.fixture);
+
+            throw new IllegalStateException(message);
+        }
+    }
+
+    @Benchmark
+    public ListingSelection singlePass() {
+        return ListingSelector.select(this.listings, this.limit);
+    }
+
+    @Benchmark
+    public ListingSelection streams() {
+        return StreamListingSelector.select(this.listings, this.limit);
+    }
+}
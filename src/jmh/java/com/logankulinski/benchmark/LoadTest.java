@@ -0,0 +1,527 @@
+package com.logankulinski.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.logankulinski.client.OutboundRequestScheduler;
+import com.logankulinski.client.UniversalisClient;
+import com.logankulinski.client.XIVAPIClient;
+import com.logankulinski.config.ExecutorConfiguration;
+import com.logankulinski.config.HttpClientConfiguration;
+import com.logankulinski.config.OutboundRequestConfiguration;
+import com.logankulinski.config.UniversalisClientConfiguration;
+import com.logankulinski.listener.InteractionDispatcher;
+import com.logankulinski.listener.ItemCostListener;
+import com.logankulinski.listener.RecipeListener;
+import com.logankulinski.listener.RecipeMessageRenderer;
+import com.logankulinski.metrics.CommandMetrics;
+import com.logankulinski.model.ButtonMetadata;
+import com.logankulinski.model.Item;
+import com.logankulinski.model.Recipe;
+import com.logankulinski.serialization.ButtonIdCodec;
+import com.logankulinski.service.CraftingCostEngine;
+import com.logankulinski.service.HotItemTracker;
+import com.logankulinski.service.IngredientPricingService;
+import com.logankulinski.service.ItemNameIndex;
+import com.logankulinski.service.MarketSnapshotCache;
+import com.logankulinski.service.OrderBook;
+import com.logankulinski.store.CatalogStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.hooks.EventListener;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.mockito.Mockito;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+
+import static org.mockito.Mockito.when;
+
+/*
+ * Replays synthetic /recipe, /item-cost and "Get recipe" button traffic through the production dispatcher and
+ * listeners at a fixed arrival rate, with item popularity drawn from a Zipf distribution. Upstream calls go through the
+ * real RestClient, rate limiter and caches to loopback stand-ins for XIVAPI and Universalis, so the report reflects the
+ * queueing an instance would see on patch day. Options are passed as key=value arguments; see DEFAULT_OPTIONS.
+ */
+public final class LoadTest implements AutoCloseable {
+    private final Map<String, String> options;
+
+    private final Deque<AutoCloseable> resources;
+
+    private final StandInServer xivapiServer;
+
+    private final StandInServer universalisServer;
+
+    private final List<XIVAPIStandIn.CatalogItem> catalog;
+
+    private final InteractionDispatcher dispatcher;
+
+    private final Path catalogDirectory;
+
+    private final ButtonIdCodec buttonIdCodec;
+
+    private static final Map<String, String> DEFAULT_OPTIONS;
+
+    private static final Duration ACKNOWLEDGEMENT_DEADLINE;
+
+    static {
+        DEFAULT_OPTIONS = Map.ofEntries(
+            Map.entry("rate", "20"),
+            Map.entry("duration", "60s"),
+            Map.entry("timeout", "30s"),
+            Map.entry("latency", "50ms"),
+            Map.entry("catalog-size", "2000"),
+            Map.entry("zipf-exponent", "1.1"),
+            Map.entry("recipe-share", "0.4"),
+            Map.entry("button-share", "0.2"),
+            Map.entry("guilds", "25"),
+            Map.entry("data-center", "Aether"),
+            Map.entry("seed", "42"),
+            Map.entry("max-concurrency", "32"),
+            Map.entry("max-guild-concurrency", "4"),
+            Map.entry("max-queue-depth", "256"),
+            Map.entry("xivapi-permits-per-second", "20"),
+            Map.entry("universalis-permits-per-second", "25")
+        );
+
+        ACKNOWLEDGEMENT_DEADLINE = Duration.ofSeconds(3L);
+    }
+
+    private LoadTest(Map<String, String> options) throws IOException, InterruptedException {
+        this.options = Objects.requireNonNull(options);
+
+        this.resources = new ArrayDeque<>();
+
+        this.buttonIdCodec = new ButtonIdCodec();
+
+        Duration latency = this.getDuration("latency");
+
+        XIVAPIStandIn xivapiStandIn = new XIVAPIStandIn(this.getInt("catalog-size"));
+
+        this.catalog = xivapiStandIn.getCatalog();
+
+        this.xivapiServer = this.register(new StandInServer("127.0.0.1", latency, xivapiStandIn));
+
+        this.universalisServer = this.register(new StandInServer("localhost", latency, new UniversalisStandIn()));
+
+        URI xivapiBaseUrl = this.xivapiServer.getBaseUri();
+
+        URI universalisBaseUrl = this.universalisServer.getBaseUri();
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        double xivapiPermitsPerSecond = this.getDouble("xivapi-permits-per-second");
+
+        double universalisPermitsPerSecond = this.getDouble("universalis-permits-per-second");
+
+        OutboundRequestScheduler outboundRequestScheduler = new OutboundRequestConfiguration()
+            .outboundRequestScheduler(meterRegistry, xivapiBaseUrl, universalisBaseUrl, xivapiPermitsPerSecond,
+                (int) xivapiPermitsPerSecond, universalisPermitsPerSecond, (int) universalisPermitsPerSecond, 512,
+                Duration.ofSeconds(5L), 3, Duration.ofMillis(250L), Duration.ofSeconds(5L));
+
+        HttpClientConfiguration httpClientConfiguration = new HttpClientConfiguration();
+
+        this.catalogDirectory = Files.createTempDirectory("load-test-catalog");
+
+        CatalogStore<Item> itemCatalogStore = this.register(
+            httpClientConfiguration.itemCatalogStore(this.catalogDirectory, "", Duration.ofDays(7L)));
+
+        CatalogStore<Recipe> recipeCatalogStore = this.register(
+            httpClientConfiguration.recipeCatalogStore(this.catalogDirectory, "", Duration.ofDays(7L)));
+
+        PoolingHttpClientConnectionManager connectionManager = this.register(
+            httpClientConfiguration.xivapiConnectionManager(meterRegistry, Duration.ofSeconds(2L),
+                Duration.ofSeconds(10L), Duration.ofMinutes(5L), 32));
+
+        CloseableHttpClient httpClient = this.register(httpClientConfiguration.xivapiHttpClient(connectionManager,
+            Duration.ofSeconds(10L), Duration.ofSeconds(5L), Duration.ofSeconds(30L)));
+
+        ExecutorService executor = this.register(new ExecutorConfiguration().lookupExecutor());
+
+        XIVAPIClient xivapiClient = httpClientConfiguration.xivapiClient(RestClient.builder(), httpClient,
+            outboundRequestScheduler, executor, meterRegistry, itemCatalogStore, recipeCatalogStore,
+            xivapiBaseUrl.toString(), "", Duration.ofHours(24L), 20_000L, 20_000L, 5_000L);
+
+        UniversalisClient universalisClient = new UniversalisClientConfiguration().universalisClient(
+            RestClient.builder(), outboundRequestScheduler, universalisBaseUrl.toString());
+
+        HotItemTracker hotItemTracker = new HotItemTracker(4096, 200, Duration.ofMinutes(30L));
+
+        OrderBook orderBook = new OrderBook("", 20_000L, meterRegistry);
+
+        MarketSnapshotCache snapshotCache = new MarketSnapshotCache(universalisClient, executor, hotItemTracker,
+            orderBook, meterRegistry, Duration.ofSeconds(60L), Duration.ofMinutes(15L), 50_000L, 20);
+
+        IngredientPricingService pricingService = new IngredientPricingService(snapshotCache, orderBook);
+
+        CommandMetrics commandMetrics = new CommandMetrics(meterRegistry);
+
+        CraftingCostEngine craftingCostEngine = new CraftingCostEngine(xivapiClient, pricingService,
+            Duration.ofSeconds(10L), 16, commandMetrics);
+
+        ItemNameIndex itemNameIndex = new ItemNameIndex(xivapiClient, executor);
+
+        itemNameIndex.build();
+
+        long indexDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30L);
+
+        while (!itemNameIndex.isReady() && (System.nanoTime() < indexDeadline)) {
+            Thread.sleep(10L);
+        }
+
+        if (!itemNameIndex.isReady()) {
+            throw new IllegalStateException("The item name index was not built within 30 seconds");
+        }
+
+        RecipeListener recipeListener = new RecipeListener(xivapiClient, itemNameIndex, pricingService,
+            commandMetrics, new RecipeMessageRenderer(), Duration.ofSeconds(10L), 4, Duration.ofSeconds(1L));
+
+        ItemCostListener itemCostListener = new ItemCostListener(itemNameIndex, pricingService,
+            craftingCostEngine, commandMetrics, Duration.ofSeconds(10L));
+
+        List<EventListener> listeners = List.of(itemCostListener, recipeListener);
+
+        this.dispatcher = new InteractionDispatcher(listeners, executor, meterRegistry, commandMetrics,
+            this.getInt("max-concurrency"), this.getInt("max-guild-concurrency"), this.getInt("max-queue-depth"));
+    }
+
+    private <T extends AutoCloseable> T register(T resource) {
+        Objects.requireNonNull(resource);
+
+        this.resources.push(resource);
+
+        return resource;
+    }
+
+    private String getOption(String key) {
+        Objects.requireNonNull(key);
+
+        String value = this.options.get(key);
+
+        return Objects.requireNonNull(value, key);
+    }
+
+    private int getInt(String key) {
+        return Integer.parseInt(this.getOption(key));
+    }
+
+    private double getDouble(String key) {
+        return Double.parseDouble(this.getOption(key));
+    }
+
+    private Duration getDuration(String key) {
+        return DurationStyle.detectAndParse(this.getOption(key));
+    }
+
+    private String getButtonId(String dataCenterName, int itemId) {
+        ButtonMetadata buttonMetadata = new ButtonMetadata(dataCenterName, itemId);
+
+        return this.buttonIdCodec.encode(buttonMetadata);
+    }
+
+    private List<Guild> createGuilds(int count) {
+        List<Guild> guilds = new ArrayList<>();
+
+        for (int i = 1; i <= count; i++) {
+            Guild guild = Mockito.mock(Guild.class, Mockito.withSettings()
+                                                           .stubOnly());
+
+            when(guild.getIdLong()).thenReturn((long) i);
+
+            guilds.add(guild);
+        }
+
+        return guilds;
+    }
+
+    private List<SyntheticInteraction> createInteractions(int count) {
+        RandomGenerator random = new SplittableRandom(this.getInt("seed"));
+
+        List<XIVAPIStandIn.CatalogItem> itemsByPopularity = new ArrayList<>(this.catalog);
+
+        Collections.shuffle(itemsByPopularity, random);
+
+        ZipfDistribution distribution = new ZipfDistribution(itemsByPopularity.size(),
+            this.getDouble("zipf-exponent"));
+
+        List<Guild> guilds = this.createGuilds(this.getInt("guilds"));
+
+        double recipeShare = this.getDouble("recipe-share");
+
+        double buttonShare = this.getDouble("button-share");
+
+        String dataCenterName = this.getOption("data-center");
+
+        List<SyntheticInteraction> interactions = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            XIVAPIStandIn.CatalogItem item = itemsByPopularity.get(distribution.sample(random));
+
+            Guild guild = guilds.get(random.nextInt(guilds.size()));
+
+            String id = Integer.toString(i);
+
+            double value = random.nextDouble();
+
+            SyntheticInteraction interaction;
+
+            if (value < recipeShare) {
+                Map<String, Object> commandOptions = Map.of("name", item.name(), "data-center", dataCenterName);
+
+                interaction = SyntheticInteraction.slashCommand(SyntheticInteraction.Kind.RECIPE, id, guild,
+                    commandOptions);
+            } else if (value < (recipeShare + buttonShare)) {
+                String componentId = this.getButtonId(dataCenterName, item.id());
+
+                interaction = SyntheticInteraction.buttonPress(id, guild, componentId);
+            } else {
+                Map<String, Object> commandOptions = Map.of("name", item.name(), "data-center", dataCenterName);
+
+                interaction = SyntheticInteraction.slashCommand(SyntheticInteraction.Kind.ITEM_COST, id, guild,
+                    commandOptions);
+            }
+
+            interactions.add(interaction);
+        }
+
+        return interactions;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String getLatencySummary(long[] nanos) {
+        Objects.requireNonNull(nanos);
+
+        if (nanos.length == 0) {
+            return "n=0";
+        }
+
+        Arrays.sort(nanos);
+
+        long p50 = nanos[(int) Math.ceil(0.50 * nanos.length) - 1];
+
+        long p99 = nanos[(int) Math.ceil(0.99 * nanos.length) - 1];
+
+        long max = nanos[nanos.length - 1];
+
+        return "n=%-6d p50 %9.1f ms   p99 %9.1f ms   max %9.1f ms".formatted(nanos.length, LoadTest.toMillis(p50),
+            LoadTest.toMillis(p99), LoadTest.toMillis(max));
+    }
+
+    private void report(List<SyntheticInteraction> interactions, long startTime, Duration sendDuration) {
+        Objects.requireNonNull(interactions);
+
+        Objects.requireNonNull(sendDuration);
+
+        int rejected = 0;
+
+        int timedOut = 0;
+
+        int errorReplies = 0;
+
+        long lastCompletedAt = startTime;
+
+        List<Long> timesToDefer = new ArrayList<>();
+
+        Map<String, List<Long>> timesToFinalMessage = new HashMap<>();
+
+        List<Long> timesToFirstMessage = new ArrayList<>();
+
+        int progressEdits = 0;
+
+        for (SyntheticInteraction interaction : interactions) {
+            if (interaction.isDeferred()) {
+                timesToDefer.add(interaction.getTimeToDefer());
+            }
+
+            if (!interaction.isCompleted()) {
+                timedOut++;
+
+                continue;
+            }
+
+            lastCompletedAt = Math.max(lastCompletedAt, interaction.getCompletedAt());
+
+            if (interaction.isRejected()) {
+                rejected++;
+
+                continue;
+            }
+
+            if (interaction.isError()) {
+                errorReplies++;
+            }
+
+            timesToFirstMessage.add(interaction.getTimeToFirstMessage());
+
+            progressEdits += interaction.getProgressEditCount();
+
+            long timeToFinalMessage = interaction.getTimeToFinalMessage();
+
+            String commandName = interaction.getKind()
+                                            .getCommandName();
+
+            timesToFinalMessage.computeIfAbsent(commandName, key -> new ArrayList<>())
+                               .add(timeToFinalMessage);
+
+            timesToFinalMessage.computeIfAbsent("all", key -> new ArrayList<>())
+                               .add(timeToFinalMessage);
+        }
+
+        int sent = interactions.size();
+
+        int completed = sent - timedOut - rejected;
+
+        int errors = rejected + timedOut + errorReplies;
+
+        double elapsedSeconds = (lastCompletedAt - startTime) / 1_000_000_000.0;
+
+        long deadlineNanos = LoadTest.ACKNOWLEDGEMENT_DEADLINE.toNanos();
+
+        long lateDefers = timesToDefer.stream()
+                                      .filter(nanos -> nanos > deadlineNanos)
+                                      .count();
+
+        long[] deferNanos = timesToDefer.stream()
+                                        .mapToLong(Long::longValue)
+                                        .toArray();
+
+        System.out.printf("Sent %d interactions in %.1f s (target %s/s)%n", sent, sendDuration.toMillis() / 1000.0,
+            this.getOption("rate"));
+
+        System.out.printf("Completed %d in %.1f s (%.1f/s)%n", completed, elapsedSeconds,
+            (elapsedSeconds > 0.0) ? completed / elapsedSeconds : 0.0);
+
+        System.out.printf("Errors %d (%.2f%%): %d rejected, %d timed out, %d error replies%n", errors,
+            (sent > 0) ? (100.0 * errors) / sent : 0.0, rejected, timedOut, errorReplies);
+
+        System.out.printf("Time to defer            %s   (%d over %d s)%n", LoadTest.getLatencySummary(deferNanos),
+            lateDefers, LoadTest.ACKNOWLEDGEMENT_DEADLINE.toSeconds());
+
+        for (String commandName : List.of("recipe", "item-cost", "button", "all")) {
+            long[] nanos = timesToFinalMessage.getOrDefault(commandName, List.of())
+                                              .stream()
+                                              .mapToLong(Long::longValue)
+                                              .toArray();
+
+            System.out.printf("Time to final %-10s %s%n", commandName, LoadTest.getLatencySummary(nanos));
+        }
+
+        long[] firstMessageNanos = timesToFirstMessage.stream()
+                                                      .mapToLong(Long::longValue)
+                                                      .toArray();
+
+        System.out.printf("Time to first content    %s   (%d progress edits)%n",
+            LoadTest.getLatencySummary(firstMessageNanos), progressEdits);
+
+        System.out.printf("Upstream requests: XIVAPI %d, Universalis %d%n", this.xivapiServer.getRequestCount(),
+            this.universalisServer.getRequestCount());
+    }
+
+    private void run() throws InterruptedException, ExecutionException {
+        Duration duration = this.getDuration("duration");
+
+        double rate = this.getDouble("rate");
+
+        int count = (int) Math.round(rate * duration.toNanos() / 1_000_000_000.0);
+
+        List<SyntheticInteraction> interactions = this.createInteractions(count);
+
+        long interval = Math.round(1_000_000_000.0 / rate);
+
+        long startTime = System.nanoTime();
+
+        for (int i = 0; i < count; i++) {
+            long sendTime = startTime + (i * interval);
+
+            long delay = sendTime - System.nanoTime();
+
+            while (delay > 0L) {
+                LockSupport.parkNanos(delay);
+
+                delay = sendTime - System.nanoTime();
+            }
+
+            interactions.get(i)
+                        .dispatch(this.dispatcher);
+        }
+
+        Duration sendDuration = Duration.ofNanos(System.nanoTime() - startTime);
+
+        CompletableFuture<?>[] completions = interactions.stream()
+                                                         .map(SyntheticInteraction::getCompletion)
+                                                         .toArray(CompletableFuture[]::new);
+
+        try {
+            CompletableFuture.allOf(completions)
+                             .get(this.getDuration("timeout")
+                                      .toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            System.out.println("Some interactions did not finish before the timeout");
+        }
+
+        this.report(interactions, startTime, sendDuration);
+    }
+
+    @Override
+    public void close() throws Exception {
+        while (!this.resources.isEmpty()) {
+            this.resources.pop()
+                          .close();
+        }
+
+        FileSystemUtils.deleteRecursively(this.catalogDirectory);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Logger rootLogger = (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+
+        rootLogger.setLevel(Level.WARN);
+
+        Map<String, String> options = new HashMap<>(LoadTest.DEFAULT_OPTIONS);
+
+        for (String arg : args) {
+            String[] parts = arg.split("=", 2);
+
+            if ((parts.length != 2) || !LoadTest.DEFAULT_OPTIONS.containsKey(parts[0])) {
+                String message = "Unknown option \"%s\"; expected one of %s".formatted(arg,
+                    LoadTest.DEFAULT_OPTIONS.keySet());
+
+                throw new IllegalArgumentException(message);
+            }
+
+            options.put(parts[0], parts[1]);
+        }
+
+        try (LoadTest loadTest = new LoadTest(options)) {
+            loadTest.run();
+        }
+    }
+}
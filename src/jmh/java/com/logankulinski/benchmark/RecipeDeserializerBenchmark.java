@@ -0,0 +1,78 @@
+package com.logankulinski.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.logankulinski.model.Recipe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeDeserializerBenchmark {
+    @Param({"recipe-33162", "recipe-35541", "recipe-35030"})
+    private String fixture;
+
+    private byte[] payload;
+
+    private ObjectReader streamingReader;
+
+    private ObjectReader treeReader;
+
+    @JsonDeserialize(using = TreeRecipeDeserializer.class)
+    private interface TreeRecipeMixIn {
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        String name = "/fixtures/xivapi/%s.json".formatted(this.fixture);
+
+        try (InputStream inputStream = RecipeDeserializerBenchmark.class.getResourceAsStream(name)) {
+            this.payload = Objects.requireNonNull(inputStream, name)
+                                  .readAllBytes();
+        }
+
+        this.streamingReader = new ObjectMapper().readerFor(Recipe.class);
+
+        this.treeReader = new ObjectMapper().addMixIn(Recipe.class, TreeRecipeMixIn.class)
+                                            .readerFor(Recipe.class);
+
+        Recipe streamingRecipe = this.streamingReader.readValue(this.payload);
+
+        Recipe treeRecipe = this.treeReader.readValue(this.payload);
+
+        if (!Objects.equals(streamingRecipe, treeRecipe)) {
+            String message = "The deserializers disagree on %s".formatted(this.fixture);
+
+            throw new IllegalStateException(message);
+        }
+    }
+
+    @Benchmark
+    public Recipe streaming() throws IOException {
+        return this.streamingReader.readValue(this.payload);
+    }
+
+    @Benchmark
+    public Recipe tree() throws IOException {
+        return this.treeReader.readValue(this.payload);
+    }
+}
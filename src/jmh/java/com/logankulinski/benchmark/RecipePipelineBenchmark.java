@@ -0,0 +1,122 @@
+package com.logankulinski.benchmark;
+
+import com.logankulinski.metrics.CommandStage;
+import com.logankulinski.model.ItemName;
+import de.chojo.universalis.worlds.DataCenter;
+import de.chojo.universalis.worlds.Worlds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Runs /recipe end to end, from resolving the item name to the rendered message, against the fixture clients with every
+ * cache disabled so each command pays the injected round trips. With indexed set the name is resolved from the local
+ * item name index, as it is once startup finishes; without it every command falls back to a remote search, as it does
+ * while the index is still being built. recipe measures one command at a time; concurrentRecipes
+ * runs a burst of commands on the virtual-thread executor and reports the time per command, so the gap between the two
+ * is what overlapping the upstream waits buys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipePipelineBenchmark {
+    @Param({"0", "20", "50"})
+    private long latencyMillis;
+
+    @Param({"Augmented Classical Longsword"})
+    private String itemName;
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private StubbedServices services;
+
+    private DataCenter dataCenter;
+
+    private static final int CONCURRENCY = 16;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        Duration latency = Duration.ofMillis(this.latencyMillis);
+
+        this.services = new StubbedServices(latency, Duration.ZERO);
+
+        this.dataCenter = Worlds.datacenterByName("Aether");
+
+        if (this.indexed) {
+            this.services.itemNameIndex.build();
+
+            long indexDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30L);
+
+            while (!this.services.itemNameIndex.isReady() && (System.nanoTime() < indexDeadline)) {
+                Thread.sleep(10L);
+            }
+
+            if (!this.services.itemNameIndex.isReady()) {
+                throw new IllegalStateException("The item name index was not built within 30 seconds");
+            }
+        }
+
+        String message = this.recipe();
+
+        if (!message.contains("Recipe")) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.services.close();
+    }
+
+    @Benchmark
+    public String recipe() {
+        ItemName result = this.services.commandMetrics.record(CommandStage.SEARCH,
+            () -> this.services.itemNameIndex.resolve(this.itemName));
+
+        if (result == null) {
+            throw new IllegalStateException("No items were found with the name \"%s\"".formatted(this.itemName));
+        }
+
+        return this.services.recipeListener.getRecipeMessage(this.dataCenter, result.id(), message -> {});
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RecipePipelineBenchmark.CONCURRENCY)
+    public List<String> concurrentRecipes() throws InterruptedException, ExecutionException {
+        List<Callable<String>> tasks = new ArrayList<>();
+
+        for (int i = 0; i < RecipePipelineBenchmark.CONCURRENCY; i++) {
+            tasks.add(this::recipe);
+        }
+
+        List<String> messages = new ArrayList<>();
+
+        for (Future<String> future : this.services.executor.invokeAll(tasks)) {
+            messages.add(future.get());
+        }
+
+        return messages;
+    }
+}
@@ -0,0 +1,77 @@
+package com.logankulinski.benchmark;
+
+import com.logankulinski.listener.RecipeMessageRenderer;
+import com.logankulinski.model.Ingredient;
+import com.logankulinski.model.ListingSelection;
+import com.logankulinski.model.MarketBoard;
+import com.logankulinski.model.MarketSnapshot;
+import com.logankulinski.model.Recipe;
+import com.logankulinski.service.ListingSelector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeRenderBenchmark {
+    @Param({"recipe-33162", "recipe-35541", "recipe-35030"})
+    private String fixture;
+
+    private RecipeMessageRenderer renderer;
+
+    private String itemName;
+
+    private List<Ingredient> ingredients;
+
+    private Map<Integer, MarketSnapshot> snapshots;
+
+    @Setup
+    public void setUp() {
+        this.renderer = new RecipeMessageRenderer();
+
+        Recipe recipe = Fixtures.readValue("xivapi/%s".formatted(this.fixture), Recipe.class);
+
+        this.itemName = recipe.name();
+
+        this.ingredients = recipe.ingredients();
+
+        FixtureUniversalisClient universalisClient = new FixtureUniversalisClient(Duration.ZERO);
+
+        Instant fetchedAt = Instant.now();
+
+        this.snapshots = new HashMap<>();
+
+        for (Ingredient ingredient : this.ingredients) {
+            MarketBoard marketBoard = universalisClient.getMarketBoard("Aether", ingredient.id());
+
+            ListingSelection selection = ListingSelector.select(marketBoard.listings(), 20);
+
+            this.snapshots.put(ingredient.id(), new MarketSnapshot(marketBoard, selection, fetchedAt));
+        }
+    }
+
+    @Benchmark
+    public String render() {
+        return this.renderer.render(this.itemName, this.ingredients, this.snapshots, Set.of());
+    }
+}
@@ -0,0 +1,115 @@
+package com.logankulinski.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/*
+ * A loopback HTTP server that answers every request after the configured latency, standing in for an upstream API.
+ * The outbound scheduler rate limits by host name, so each stand-in is addressed by its own spelling of the loopback
+ * address to keep their token buckets apart. Requests are served on platform threads because a real upstream does not
+ * share our carrier threads, so a pinned carrier in the bot must never hold up the stand-in's responses.
+ */
+final class StandInServer implements AutoCloseable {
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    private final String hostName;
+
+    private final Duration latency;
+
+    private final Function<URI, Response> handler;
+
+    private final AtomicLong requestCount;
+
+    record Response(int statusCode, byte[] body) {
+        static Response ok(byte[] body) {
+            return new Response(200, body);
+        }
+
+        static Response notFound() {
+            return new Response(404, new byte[0]);
+        }
+    }
+
+    StandInServer(String hostName, Duration latency, Function<URI, Response> handler) throws IOException {
+        this.hostName = Objects.requireNonNull(hostName);
+
+        this.latency = Objects.requireNonNull(latency);
+
+        this.handler = Objects.requireNonNull(handler);
+
+        this.requestCount = new AtomicLong();
+
+        this.executor = Executors.newCachedThreadPool();
+
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+
+        this.server = HttpServer.create(address, 0);
+
+        this.server.createContext("/", this::handle);
+
+        this.server.setExecutor(this.executor);
+
+        this.server.start();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        Objects.requireNonNull(exchange);
+
+        this.requestCount.incrementAndGet();
+
+        Fixtures.simulateLatency(this.latency);
+
+        Response response;
+
+        try {
+            response = this.handler.apply(exchange.getRequestURI());
+        } catch (RuntimeException e) {
+            response = new Response(500, new byte[0]);
+        }
+
+        byte[] body = response.body();
+
+        exchange.getResponseHeaders()
+                .set("Content-Type", "application/json");
+
+        long contentLength = (body.length == 0) ? -1L : body.length;
+
+        exchange.sendResponseHeaders(response.statusCode(), contentLength);
+
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    URI getBaseUri() {
+        int port = this.server.getAddress()
+                              .getPort();
+
+        return URI.create("http://%s:%d".formatted(this.hostName, port));
+    }
+
+    long getRequestCount() {
+        return this.requestCount.get();
+    }
+
+    @Override
+    public void close() {
+        this.server.stop(0);
+
+        this.executor.close();
+    }
+}
@@ -0,0 +1,56 @@
+package com.logankulinski.benchmark;
+
+import com.logankulinski.model.CheapestListings;
+import com.logankulinski.model.ListingSelection;
+import com.logankulinski.model.MarketListing;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/*
+ * The sort and stream pipelines the listeners used before ListingSelector, kept as the benchmark baseline.
+ */
+public final class StreamListingSelector {
+    private StreamListingSelector() {
+    }
+
+    private static MarketListing getCheapestListing(List<MarketListing> listings, boolean hq) {
+        return listings.stream()
+                       .filter(listing -> listing.hq() == hq)
+                       .sorted(Comparator.comparingInt(MarketListing::pricePerUnit))
+                       .limit(1)
+                       .findFirst()
+                       .orElse(null);
+    }
+
+    private static CheapestListings getCheapestListings(List<MarketListing> listings) {
+        MarketListing normalQualityListing = StreamListingSelector.getCheapestListing(listings, false);
+
+        MarketListing highQualityListing = StreamListingSelector.getCheapestListing(listings, true);
+
+        return new CheapestListings(normalQualityListing, highQualityListing);
+    }
+
+    public static ListingSelection select(List<MarketListing> listings, int limit) {
+        Objects.requireNonNull(listings);
+
+        CheapestListings cheapestListings = StreamListingSelector.getCheapestListings(listings);
+
+        Map<String, CheapestListings> worldListings = listings.stream()
+                                                              .filter(listing -> listing.worldName() != null)
+                                                              .collect(Collectors.groupingBy(
+                                                                  MarketListing::worldName,
+                                                                  Collectors.collectingAndThen(Collectors.toList(),
+                                                                      StreamListingSelector::getCheapestListings)));
+
+        List<MarketListing> topListings = listings.stream()
+                                                  .sorted(Comparator.comparingInt(MarketListing::pricePerUnit))
+                                                  .limit(limit)
+                                                  .toList();
+
+        return new ListingSelection(cheapestListings, worldListings, topListings);
+    }
+}
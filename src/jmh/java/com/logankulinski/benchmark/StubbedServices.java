@@ -0,0 +1,79 @@
+package com.logankulinski.benchmark;
+
+import com.logankulinski.listener.RecipeListener;
+import com.logankulinski.listener.RecipeMessageRenderer;
+import com.logankulinski.metrics.CommandMetrics;
+import com.logankulinski.service.CraftingCostEngine;
+import com.logankulinski.service.HotItemTracker;
+import com.logankulinski.service.IngredientPricingService;
+import com.logankulinski.service.ItemNameIndex;
+import com.logankulinski.service.MarketSnapshotCache;
+import com.logankulinski.service.OrderBook;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * Wires the production services the way Spring would, but against the fixture clients, so benchmarks exercise the
+ * real caching, batching and fan-out code. The order book streams no data centers, so every price comes from the
+ * snapshot cache and therefore from the stubbed market endpoint.
+ */
+final class StubbedServices implements AutoCloseable {
+    final ExecutorService executor;
+
+    final FixtureXIVAPIClient xivapiClient;
+
+    final FixtureUniversalisClient universalisClient;
+
+    final IngredientPricingService pricingService;
+
+    final CommandMetrics commandMetrics;
+
+    final CraftingCostEngine craftingCostEngine;
+
+    final ItemNameIndex itemNameIndex;
+
+    final RecipeListener recipeListener;
+
+    StubbedServices(Duration latency, Duration maxStaleness) {
+        Objects.requireNonNull(latency);
+
+        Objects.requireNonNull(maxStaleness);
+
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        this.xivapiClient = new FixtureXIVAPIClient(latency);
+
+        this.universalisClient = new FixtureUniversalisClient(latency);
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        HotItemTracker hotItemTracker = new HotItemTracker(4096, 200, Duration.ofMinutes(10L));
+
+        OrderBook orderBook = new OrderBook("", 1L, meterRegistry);
+
+        MarketSnapshotCache snapshotCache = new MarketSnapshotCache(this.universalisClient, this.executor,
+            hotItemTracker, orderBook, meterRegistry, Duration.ofSeconds(60L), maxStaleness, 50_000L, 20);
+
+        this.pricingService = new IngredientPricingService(snapshotCache, orderBook);
+
+        this.commandMetrics = new CommandMetrics(meterRegistry);
+
+        this.craftingCostEngine = new CraftingCostEngine(this.xivapiClient, this.pricingService,
+            Duration.ofSeconds(10L), 16, this.commandMetrics);
+
+        this.itemNameIndex = new ItemNameIndex(this.xivapiClient, this.executor);
+
+        this.recipeListener = new RecipeListener(this.xivapiClient, this.itemNameIndex, this.pricingService,
+            this.commandMetrics, new RecipeMessageRenderer(), Duration.ofSeconds(10L), 4, Duration.ofSeconds(1L));
+    }
+
+    @Override
+    public void close() {
+        this.executor.close();
+    }
+}
@@ -0,0 +1,334 @@
+package com.logankulinski.benchmark;
+
+import com.logankulinski.listener.RecipeMessageRenderer;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.interactions.callbacks.IReplyCallback;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import net.dv8tion.jda.api.requests.restaction.WebhookMessageCreateAction;
+import net.dv8tion.jda.api.requests.restaction.WebhookMessageEditAction;
+import net.dv8tion.jda.api.requests.restaction.interactions.ReplyCallbackAction;
+import org.mockito.Answers;
+import org.mockito.MockSettings;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/*
+ * A slash command or button press built from stub-only Mockito mocks of JDA's event types. Every RestAction it hands
+ * out completes as soon as it is queued, recording when the interaction was deferred and when its final message was
+ * sent, so the listeners run exactly as they would against Discord minus the network. An edit that still shows a
+ * price as loading counts as progress; the interaction completes on the first message or edit without one.
+ */
+final class SyntheticInteraction {
+    private final Kind kind;
+
+    private final GenericEvent event;
+
+    private final CompletableFuture<Void> completion;
+
+    private final AtomicInteger progressEditCount;
+
+    private volatile long dispatchedAt;
+
+    private volatile long deferredAt;
+
+    private volatile long firstMessageAt;
+
+    private volatile long completedAt;
+
+    private volatile String message;
+
+    private volatile boolean rejected;
+
+    enum Kind {
+        RECIPE("recipe"),
+
+        ITEM_COST("item-cost"),
+
+        BUTTON("button");
+
+        private final String commandName;
+
+        Kind(String commandName) {
+            this.commandName = Objects.requireNonNull(commandName);
+        }
+
+        String getCommandName() {
+            return this.commandName;
+        }
+    }
+
+    private SyntheticInteraction(Kind kind, GenericEvent event) {
+        this.kind = Objects.requireNonNull(kind);
+
+        this.event = Objects.requireNonNull(event);
+
+        this.completion = new CompletableFuture<>();
+
+        this.progressEditCount = new AtomicInteger();
+    }
+
+    private static Object answerAction(InvocationOnMock invocation, Runnable queueListener) throws Throwable {
+        Objects.requireNonNull(invocation);
+
+        Objects.requireNonNull(queueListener);
+
+        Method method = invocation.getMethod();
+
+        if (Objects.equals(method.getName(), "queue")) {
+            queueListener.run();
+
+            Object[] arguments = invocation.getArguments();
+
+            if ((arguments.length > 0) && (arguments[0] instanceof Consumer<?> success)) {
+                success.accept(null);
+            }
+
+            return null;
+        }
+
+        Object mock = invocation.getMock();
+
+        if (method.getReturnType()
+                  .isInstance(mock)) {
+            return mock;
+        }
+
+        return Answers.RETURNS_DEFAULTS.answer(invocation);
+    }
+
+    private static <T> T mockAction(Class<T> type, Runnable queueListener) {
+        Objects.requireNonNull(type);
+
+        Objects.requireNonNull(queueListener);
+
+        MockSettings settings = Mockito.withSettings()
+                                       .stubOnly()
+                                       .defaultAnswer(invocation -> SyntheticInteraction.answerAction(invocation,
+                                           queueListener));
+
+        return Mockito.mock(type, settings);
+    }
+
+    private static OptionMapping mockOption(Object value) {
+        Objects.requireNonNull(value);
+
+        OptionMapping option = Mockito.mock(OptionMapping.class, Mockito.withSettings()
+                                                                        .stubOnly());
+
+        when(option.getAsString()).thenReturn(String.valueOf(value));
+
+        if (value instanceof Integer intValue) {
+            when(option.getAsInt()).thenReturn(intValue);
+
+            when(option.getAsLong()).thenReturn(intValue.longValue());
+        }
+
+        if (value instanceof Boolean booleanValue) {
+            when(option.getAsBoolean()).thenReturn(booleanValue);
+        }
+
+        return option;
+    }
+
+    private void markFirstMessage() {
+        if (this.firstMessageAt == 0L) {
+            this.firstMessageAt = System.nanoTime();
+        }
+    }
+
+    private void complete(String message, boolean rejected) {
+        if (this.completion.isDone()) {
+            return;
+        }
+
+        this.markFirstMessage();
+
+        this.completedAt = System.nanoTime();
+
+        this.message = message;
+
+        this.rejected = rejected;
+
+        this.completion.complete(null);
+    }
+
+    private void markDeferred() {
+        this.deferredAt = System.nanoTime();
+    }
+
+    private void edit(String message) {
+        Objects.requireNonNull(message);
+
+        if (message.contains(RecipeMessageRenderer.PENDING_PRICE_MESSAGE)) {
+            this.markFirstMessage();
+
+            this.progressEditCount.incrementAndGet();
+
+            return;
+        }
+
+        this.complete(message, false);
+    }
+
+    private InteractionHook mockHook() {
+        InteractionHook hook = Mockito.mock(InteractionHook.class, Mockito.withSettings()
+                                                                          .stubOnly());
+
+        when(hook.sendMessage(anyString())).thenAnswer(invocation -> {
+            String message = invocation.getArgument(0);
+
+            return SyntheticInteraction.mockAction(WebhookMessageCreateAction.class,
+                () -> this.complete(message, false));
+        });
+
+        when(hook.editOriginal(anyString())).thenAnswer(invocation -> {
+            String message = invocation.getArgument(0);
+
+            return SyntheticInteraction.mockAction(WebhookMessageEditAction.class, () -> this.edit(message));
+        });
+
+        return hook;
+    }
+
+    private void stubCallback(IReplyCallback callback, String id, Guild guild) {
+        Objects.requireNonNull(callback);
+
+        Objects.requireNonNull(id);
+
+        Objects.requireNonNull(guild);
+
+        when(callback.getId()).thenReturn(id);
+
+        when(callback.getGuild()).thenReturn(guild);
+
+        ReplyCallbackAction deferAction = SyntheticInteraction.mockAction(ReplyCallbackAction.class,
+            this::markDeferred);
+
+        when(callback.deferReply()).thenReturn(deferAction);
+
+        when(callback.deferReply(anyBoolean())).thenReturn(deferAction);
+
+        when(callback.reply(anyString())).thenAnswer(invocation -> {
+            String message = invocation.getArgument(0);
+
+            return SyntheticInteraction.mockAction(ReplyCallbackAction.class, () -> this.complete(message, true));
+        });
+
+        InteractionHook hook = this.mockHook();
+
+        when(callback.getHook()).thenReturn(hook);
+    }
+
+    static SyntheticInteraction slashCommand(Kind kind, String id, Guild guild, Map<String, Object> options) {
+        Objects.requireNonNull(kind);
+
+        Objects.requireNonNull(options);
+
+        SlashCommandInteractionEvent event = Mockito.mock(SlashCommandInteractionEvent.class,
+            Mockito.withSettings()
+                   .stubOnly());
+
+        SyntheticInteraction interaction = new SyntheticInteraction(kind, event);
+
+        interaction.stubCallback(event, id, guild);
+
+        when(event.getName()).thenReturn(kind.getCommandName());
+
+        options.forEach((name, value) -> {
+            OptionMapping option = SyntheticInteraction.mockOption(value);
+
+            when(event.getOption(name)).thenReturn(option);
+        });
+
+        return interaction;
+    }
+
+    static SyntheticInteraction buttonPress(String id, Guild guild, String componentId) {
+        Objects.requireNonNull(componentId);
+
+        ButtonInteractionEvent event = Mockito.mock(ButtonInteractionEvent.class, Mockito.withSettings()
+                                                                                         .stubOnly());
+
+        SyntheticInteraction interaction = new SyntheticInteraction(Kind.BUTTON, event);
+
+        interaction.stubCallback(event, id, guild);
+
+        when(event.getComponentId()).thenReturn(componentId);
+
+        return interaction;
+    }
+
+    void dispatch(EventListener listener) {
+        Objects.requireNonNull(listener);
+
+        this.dispatchedAt = System.nanoTime();
+
+        listener.onEvent(this.event);
+    }
+
+    Kind getKind() {
+        return this.kind;
+    }
+
+    CompletableFuture<Void> getCompletion() {
+        return this.completion;
+    }
+
+    boolean isCompleted() {
+        return this.completion.isDone();
+    }
+
+    boolean isDeferred() {
+        return this.deferredAt != 0L;
+    }
+
+    boolean isRejected() {
+        return this.rejected;
+    }
+
+    boolean isError() {
+        if (!this.isCompleted() || this.rejected) {
+            return true;
+        }
+
+        return this.message.toLowerCase(Locale.ROOT)
+                           .contains("error");
+    }
+
+    long getTimeToDefer() {
+        return this.deferredAt - this.dispatchedAt;
+    }
+
+    long getTimeToFirstMessage() {
+        return this.firstMessageAt - this.dispatchedAt;
+    }
+
+    int getProgressEditCount() {
+        return this.progressEditCount.get();
+    }
+
+    long getTimeToFinalMessage() {
+        return this.completedAt - this.dispatchedAt;
+    }
+
+    long getCompletedAt() {
+        return this.completedAt;
+    }
+}
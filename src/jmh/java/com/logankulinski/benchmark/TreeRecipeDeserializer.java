@@ -0,0 +1,140 @@
+package com.logankulinski.benchmark;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.logankulinski.model.Ingredient;
+import com.logankulinski.model.Recipe;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public final class TreeRecipeDeserializer extends StdDeserializer<Recipe> {
+    private static final int MAX_INGREDIENTS;
+
+    static {
+        MAX_INGREDIENTS = 9;
+    }
+
+    public TreeRecipeDeserializer(Class<?> vc) {
+        super(vc);
+    }
+
+    public TreeRecipeDeserializer() {
+        this(null);
+    }
+
+    public Ingredient getIngredient(JsonParser parser, JsonNode node, int index) throws JsonMappingException {
+        Objects.requireNonNull(parser);
+
+        Objects.requireNonNull(node);
+
+        if ((index < 0) || (index > TreeRecipeDeserializer.MAX_INGREDIENTS)) {
+            String message = "%d is not a valid index".formatted(index);
+
+            throw new IllegalArgumentException(message);
+        }
+
+        String ingredientKey = "ItemIngredient%d".formatted(index);
+
+        if (!node.has(ingredientKey)) {
+            String message = "Failed to deserialize the ingredient at index %d".formatted(index);
+
+            throw new JsonMappingException(parser, message);
+        }
+
+        JsonNode ingredientNode = node.get(ingredientKey);
+
+        if (ingredientNode.isNull()) {
+            return null;
+        }
+
+        String idKey = "ID";
+
+        if (!ingredientNode.has(idKey)) {
+            String message = "Failed to deserialize the ingredient at index %d".formatted(index);
+
+            throw new JsonMappingException(parser, message);
+        }
+
+        int id = ingredientNode.get(idKey)
+                               .asInt();
+
+        String nameKey = "Name";
+
+        if (!ingredientNode.has(nameKey)) {
+            String message = "Failed to deserialize the ingredient at index %d".formatted(index);
+
+            throw new JsonMappingException(parser, message);
+        }
+
+        String name = ingredientNode.get(nameKey)
+                                    .asText();
+
+        String amountKey = "AmountIngredient%d".formatted(index);
+
+        if (!node.has(amountKey)) {
+            String message = "Failed to deserialize the ingredient at index %d".formatted(index);
+
+            throw new JsonMappingException(parser, message);
+        }
+
+        int amount = node.get(amountKey)
+                         .asInt();
+
+        return new Ingredient(id, name, amount);
+    }
+
+    @Override
+    public Recipe deserialize(JsonParser parser, DeserializationContext context) throws IOException, JacksonException {
+        Objects.requireNonNull(parser);
+
+        Objects.requireNonNull(context);
+
+        JsonNode node = parser.getCodec()
+                              .readTree(parser);
+
+        JsonNode idNode = node.get("ID");
+
+        if (idNode == null) {
+            String message = "Failed to deserialize the recipe";
+
+            throw new JsonMappingException(parser, message);
+        }
+
+        int id = idNode.asInt();
+
+        JsonNode nameNode = node.get("Name");
+
+        if (nameNode == null) {
+            String message = "Failed to deserialize the recipe";
+
+            throw new JsonMappingException(parser, message);
+        }
+
+        String name = nameNode.asText();
+
+        JsonNode amountResultNode = node.get("AmountResult");
+
+        int amountResult = (amountResultNode == null) ? 1 : amountResultNode.asInt(1);
+
+        List<Ingredient> ingredients = new ArrayList<>();
+
+        for (int i = 0; i <= TreeRecipeDeserializer.MAX_INGREDIENTS; i++) {
+            Ingredient ingredient = this.getIngredient(parser, node, i);
+
+            if (ingredient == null) {
+                continue;
+            }
+
+            ingredients.add(ingredient);
+        }
+
+        return new Recipe(id, name, amountResult, ingredients);
+    }
+}
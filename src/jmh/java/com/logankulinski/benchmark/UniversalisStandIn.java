@@ -0,0 +1,55 @@
+package com.logankulinski.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Function;
+
+/*
+ * Answers Universalis' market board endpoint for one item or a comma-separated batch, serving the same recorded boards
+ * as FixtureUniversalisClient.
+ */
+final class UniversalisStandIn implements Function<URI, StandInServer.Response> {
+    private final FixtureUniversalisClient fixtureClient;
+
+    UniversalisStandIn() {
+        this.fixtureClient = new FixtureUniversalisClient(Duration.ZERO);
+    }
+
+    @Override
+    public StandInServer.Response apply(URI uri) {
+        Objects.requireNonNull(uri);
+
+        String[] segments = uri.getPath()
+                               .split("/");
+
+        if (segments.length != 3) {
+            return StandInServer.Response.notFound();
+        }
+
+        String worldDcRegion = segments[1];
+
+        String itemIds = segments[2];
+
+        Object marketBoard;
+
+        if (itemIds.contains(",")) {
+            marketBoard = this.fixtureClient.getMarketBoards(worldDcRegion, itemIds);
+        } else {
+            marketBoard = this.fixtureClient.getMarketBoard(worldDcRegion, Integer.parseInt(itemIds));
+        }
+
+        byte[] body;
+
+        try {
+            body = Fixtures.MAPPER.writeValueAsBytes(marketBoard);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return StandInServer.Response.ok(body);
+    }
+}
@@ -0,0 +1,297 @@
+package com.logankulinski.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/*
+ * Answers XIVAPI's item, recipe, search and item list endpoints. The recorded items and recipes are served as is. A
+ * synthetic catalog is generated on top of them: each synthetic item has a recipe cloned from one of the recorded
+ * recipes, so it shares their real ingredients, and every fourth synthetic item has no recipe at all.
+ */
+final class XIVAPIStandIn implements Function<URI, StandInServer.Response> {
+    private final List<CatalogItem> catalog;
+
+    private final Map<Integer, CatalogItem> catalogById;
+
+    private final Map<String, CatalogItem> catalogByName;
+
+    private final List<JsonNode> recipeTemplates;
+
+    private final Map<String, byte[]> responses;
+
+    private static final List<Integer> RECORDED_ITEM_IDS;
+
+    private static final int SYNTHETIC_ITEM_ID_OFFSET;
+
+    private static final int SYNTHETIC_RECIPE_ID_OFFSET;
+
+    private static final int PAGE_SIZE;
+
+    static {
+        RECORDED_ITEM_IDS = List.of(34162, 36541, 36030);
+
+        SYNTHETIC_ITEM_ID_OFFSET = 1_000_000;
+
+        SYNTHETIC_RECIPE_ID_OFFSET = 2_000_000;
+
+        PAGE_SIZE = 3000;
+    }
+
+    record CatalogItem(int id, String name, Integer recipeId) {
+    }
+
+    XIVAPIStandIn(int syntheticItemCount) {
+        List<CatalogItem> catalog = new ArrayList<>();
+
+        List<JsonNode> recipeTemplates = new ArrayList<>();
+
+        for (int itemId : XIVAPIStandIn.RECORDED_ITEM_IDS) {
+            JsonNode item = this.readTree(Fixtures.read("xivapi/item-%d".formatted(itemId)));
+
+            int recipeId = item.path("Recipes")
+                               .path(0)
+                               .path("ID")
+                               .asInt();
+
+            catalog.add(new CatalogItem(itemId, item.path("Name")
+                                                    .asText(), recipeId));
+
+            recipeTemplates.add(this.readTree(Fixtures.read("xivapi/recipe-%d".formatted(recipeId))));
+        }
+
+        for (int i = 0; i < syntheticItemCount; i++) {
+            int itemId = XIVAPIStandIn.SYNTHETIC_ITEM_ID_OFFSET + i;
+
+            String name = "Load Test Item %05d".formatted(i);
+
+            Integer recipeId = ((i % 4) == 3) ? null : XIVAPIStandIn.SYNTHETIC_RECIPE_ID_OFFSET + i;
+
+            catalog.add(new CatalogItem(itemId, name, recipeId));
+        }
+
+        this.catalog = List.copyOf(catalog);
+
+        this.catalogById = new HashMap<>();
+
+        this.catalogByName = new HashMap<>();
+
+        for (CatalogItem item : this.catalog) {
+            this.catalogById.put(item.id(), item);
+
+            this.catalogByName.put(item.name(), item);
+        }
+
+        this.recipeTemplates = List.copyOf(recipeTemplates);
+
+        this.responses = new ConcurrentHashMap<>();
+    }
+
+    private JsonNode readTree(byte[] bytes) {
+        Objects.requireNonNull(bytes);
+
+        try {
+            return Fixtures.MAPPER.readTree(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] write(JsonNode node) {
+        Objects.requireNonNull(node);
+
+        try {
+            return Fixtures.MAPPER.writeValueAsBytes(node);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, String> getQueryParameters(URI uri) {
+        Objects.requireNonNull(uri);
+
+        Map<String, String> parameters = new HashMap<>();
+
+        String query = uri.getRawQuery();
+
+        if (query == null) {
+            return parameters;
+        }
+
+        for (String parameter : query.split("&")) {
+            String[] parts = parameter.split("=", 2);
+
+            String value = (parts.length == 2) ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "";
+
+            parameters.put(parts[0], value);
+        }
+
+        return parameters;
+    }
+
+    private ObjectNode getResult(CatalogItem item) {
+        Objects.requireNonNull(item);
+
+        ObjectNode result = Fixtures.MAPPER.createObjectNode();
+
+        result.put("ID", item.id());
+
+        result.put("Name", item.name());
+
+        return result;
+    }
+
+    private ObjectNode getSearchResponse(List<CatalogItem> items, int page, int pageTotal, int resultsTotal) {
+        Objects.requireNonNull(items);
+
+        ObjectNode response = Fixtures.MAPPER.createObjectNode();
+
+        ObjectNode pagination = response.putObject("Pagination");
+
+        pagination.put("Page", page);
+
+        if (page < pageTotal) {
+            pagination.put("PageNext", page + 1);
+        }
+
+        pagination.put("PageTotal", pageTotal);
+
+        pagination.put("Results", items.size());
+
+        pagination.put("ResultsPerPage", XIVAPIStandIn.PAGE_SIZE);
+
+        pagination.put("ResultsTotal", resultsTotal);
+
+        ArrayNode results = response.putArray("Results");
+
+        items.forEach(item -> results.add(this.getResult(item)));
+
+        return response;
+    }
+
+    private byte[] getItemPage(int page) {
+        int pageTotal = Math.ceilDiv(this.catalog.size(), XIVAPIStandIn.PAGE_SIZE);
+
+        int fromIndex = Math.min((page - 1) * XIVAPIStandIn.PAGE_SIZE, this.catalog.size());
+
+        int toIndex = Math.min(fromIndex + XIVAPIStandIn.PAGE_SIZE, this.catalog.size());
+
+        List<CatalogItem> items = this.catalog.subList(fromIndex, toIndex);
+
+        return this.write(this.getSearchResponse(items, page, pageTotal, this.catalog.size()));
+    }
+
+    private byte[] search(String name) {
+        Objects.requireNonNull(name);
+
+        CatalogItem item = this.catalogByName.get(name);
+
+        List<CatalogItem> items = (item == null) ? List.of() : List.of(item);
+
+        return this.write(this.getSearchResponse(items, 1, 1, items.size()));
+    }
+
+    private byte[] getItem(int itemId) {
+        byte[] recorded = Fixtures.read("xivapi/item-%d".formatted(itemId));
+
+        if (recorded != null) {
+            return recorded;
+        }
+
+        CatalogItem catalogItem = this.catalogById.get(itemId);
+
+        ObjectNode item = Fixtures.MAPPER.createObjectNode();
+
+        item.put("ID", itemId);
+
+        item.put("Name", (catalogItem == null) ? "Item %d".formatted(itemId) : catalogItem.name());
+
+        ArrayNode recipes = item.putArray("Recipes");
+
+        if ((catalogItem != null) && (catalogItem.recipeId() != null)) {
+            ObjectNode recipe = recipes.addObject();
+
+            recipe.put("ID", catalogItem.recipeId());
+
+            recipe.put("Level", 90);
+
+            recipe.put("ClassJobID", 8);
+        }
+
+        return this.write(item);
+    }
+
+    private byte[] getRecipe(int recipeId) {
+        byte[] recorded = Fixtures.read("xivapi/recipe-%d".formatted(recipeId));
+
+        if (recorded != null) {
+            return recorded;
+        }
+
+        int index = recipeId - XIVAPIStandIn.SYNTHETIC_RECIPE_ID_OFFSET;
+
+        CatalogItem catalogItem = this.catalogById.get(XIVAPIStandIn.SYNTHETIC_ITEM_ID_OFFSET + index);
+
+        if ((catalogItem == null) || (catalogItem.recipeId() == null)) {
+            return null;
+        }
+
+        JsonNode template = this.recipeTemplates.get(index % this.recipeTemplates.size());
+
+        ObjectNode recipe = template.deepCopy();
+
+        recipe.put("ID", recipeId);
+
+        recipe.put("Name", catalogItem.name());
+
+        return this.write(recipe);
+    }
+
+    List<CatalogItem> getCatalog() {
+        return this.catalog;
+    }
+
+    @Override
+    public StandInServer.Response apply(URI uri) {
+        Objects.requireNonNull(uri);
+
+        String[] segments = uri.getPath()
+                               .split("/");
+
+        Map<String, String> parameters = this.getQueryParameters(uri);
+
+        byte[] body = switch (segments.length) {
+            case 2 -> switch (segments[1]) {
+                case "Item" -> this.getItemPage(Integer.parseInt(parameters.getOrDefault("page", "1")));
+                case "search" -> this.search(parameters.getOrDefault("string", ""));
+                default -> null;
+            };
+            case 3 -> this.responses.computeIfAbsent(uri.getPath(), path -> switch (segments[1]) {
+                case "Item" -> this.getItem(Integer.parseInt(segments[2]));
+                case "Recipe" -> this.getRecipe(Integer.parseInt(segments[2]));
+                default -> null;
+            });
+            default -> null;
+        };
+
+        if (body == null) {
+            return StandInServer.Response.notFound();
+        }
+
+        return StandInServer.Response.ok(body);
+    }
+}
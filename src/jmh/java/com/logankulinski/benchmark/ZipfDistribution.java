@@ -0,0 +1,45 @@
+package com.logankulinski.benchmark;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/*
+ * Samples ranks 0 to size - 1 with probability proportional to 1 / (rank + 1)^exponent, so a few items take most of
+ * the traffic the way popular crafts do on patch day.
+ */
+final class ZipfDistribution {
+    private final double[] cumulativeProbabilities;
+
+    ZipfDistribution(int size, double exponent) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("The size must be positive");
+        }
+
+        this.cumulativeProbabilities = new double[size];
+
+        double total = 0.0;
+
+        for (int rank = 0; rank < size; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+
+            this.cumulativeProbabilities[rank] = total;
+        }
+
+        for (int rank = 0; rank < size; rank++) {
+            this.cumulativeProbabilities[rank] /= total;
+        }
+    }
+
+    int sample(RandomGenerator random) {
+        Objects.requireNonNull(random);
+
+        double value = random.nextDouble();
+
+        int index = Arrays.binarySearch(this.cumulativeProbabilities, value);
+
+        int rank = (index >= 0) ? index : -(index + 1);
+
+        return Math.min(rank, this.cumulativeProbabilities.length - 1);
+    }
+}
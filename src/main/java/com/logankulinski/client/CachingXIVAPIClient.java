@@ -0,0 +1,144 @@
+package com.logankulinski.client;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.logankulinski.model.Item;
+import com.logankulinski.model.Recipe;
+import com.logankulinski.model.SearchResponse;
+import com.logankulinski.store.CatalogStore;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/*
+ * Loads go through asynchronous caches so a miss only installs a future while Caffeine holds its map lock. A
+ * synchronous cache runs the HTTP call under that lock, and a virtual thread blocked inside it stays pinned to its
+ * carrier for the whole round trip.
+ */
+public final class CachingXIVAPIClient implements XIVAPIClient {
+    private final XIVAPIClient delegate;
+
+    private final AsyncCache<Integer, Item> itemCache;
+
+    private final AsyncCache<Integer, Recipe> recipeCache;
+
+    private final AsyncCache<String, SearchResponse> searchCache;
+
+    private final CatalogStore<Item> itemStore;
+
+    private final CatalogStore<Recipe> recipeStore;
+
+    public CachingXIVAPIClient(XIVAPIClient delegate, AsyncCache<Integer, Item> itemCache,
+        AsyncCache<Integer, Recipe> recipeCache, AsyncCache<String, SearchResponse> searchCache,
+        CatalogStore<Item> itemStore, CatalogStore<Recipe> recipeStore) {
+        this.delegate = Objects.requireNonNull(delegate);
+
+        this.itemCache = Objects.requireNonNull(itemCache);
+
+        this.recipeCache = Objects.requireNonNull(recipeCache);
+
+        this.searchCache = Objects.requireNonNull(searchCache);
+
+        this.itemStore = Objects.requireNonNull(itemStore);
+
+        this.recipeStore = Objects.requireNonNull(recipeStore);
+    }
+
+    private String normalize(String name) {
+        Objects.requireNonNull(name);
+
+        return name.strip()
+                   .replaceAll("\\s+", " ")
+                   .toLowerCase(Locale.ROOT);
+    }
+
+    private <T> CompletableFuture<T> load(Supplier<T> loader, Executor executor) {
+        Objects.requireNonNull(loader);
+
+        Objects.requireNonNull(executor);
+
+        RequestPriority priority = RequestPriority.current();
+
+        return CompletableFuture.supplyAsync(() -> priority.supply(loader), executor);
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        Objects.requireNonNull(future);
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw e;
+        }
+    }
+
+    @Override
+    public SearchResponse search(String name) {
+        String normalizedName = this.normalize(name);
+
+        CompletableFuture<SearchResponse> future = this.searchCache.get(normalizedName,
+            (key, executor) -> this.load(() -> this.delegate.search(key), executor));
+
+        return this.await(future);
+    }
+
+    @Override
+    public SearchResponse getItems(int page) {
+        return this.delegate.getItems(page);
+    }
+
+    private Item loadItem(int id) {
+        Item item = this.itemStore.get(id);
+
+        if (item != null) {
+            return item;
+        }
+
+        item = this.delegate.getItem(id);
+
+        this.itemStore.put(id, item);
+
+        return item;
+    }
+
+    private Recipe loadRecipe(int id) {
+        Recipe recipe = this.recipeStore.get(id);
+
+        if (recipe != null) {
+            return recipe;
+        }
+
+        recipe = this.delegate.getRecipe(id);
+
+        this.recipeStore.put(id, recipe);
+
+        return recipe;
+    }
+
+    @Override
+    public CompletableFuture<Item> getItemAsync(int id) {
+        return this.itemCache.get(id, (key, executor) -> this.load(() -> this.loadItem(key), executor));
+    }
+
+    @Override
+    public CompletableFuture<Recipe> getRecipeAsync(int id) {
+        return this.recipeCache.get(id, (key, executor) -> this.load(() -> this.loadRecipe(key), executor));
+    }
+
+    @Override
+    public Item getItem(int id) {
+        return this.await(this.getItemAsync(id));
+    }
+
+    @Override
+    public Recipe getRecipe(int id) {
+        return this.await(this.getRecipeAsync(id));
+    }
+}
@@ -0,0 +1,89 @@
+package com.logankulinski.client;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public final class ColumnProjectionInterceptor implements ClientHttpRequestInterceptor {
+    private final Map<String, String> columnsByEndpoint;
+
+    private static final String COLUMNS_PARAMETER_NAME;
+
+    static {
+        COLUMNS_PARAMETER_NAME = "columns";
+    }
+
+    public ColumnProjectionInterceptor(Map<String, List<String>> columnsByEndpoint) {
+        Objects.requireNonNull(columnsByEndpoint);
+
+        this.columnsByEndpoint = new HashMap<>();
+
+        columnsByEndpoint.forEach((endpoint, columns) -> this.columnsByEndpoint.put(endpoint,
+            String.join(",", columns)));
+    }
+
+    public static String getEndpoint(URI uri) {
+        Objects.requireNonNull(uri);
+
+        String path = Objects.requireNonNullElse(uri.getPath(), "");
+
+        String[] segments = path.replaceFirst("^/+", "")
+                                .split("/");
+
+        if (segments.length > 1) {
+            return "%s/{id}".formatted(segments[0]);
+        }
+
+        return segments[0];
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+        throws IOException {
+        Objects.requireNonNull(request);
+
+        Objects.requireNonNull(body);
+
+        Objects.requireNonNull(execution);
+
+        URI uri = request.getURI();
+
+        String endpoint = ColumnProjectionInterceptor.getEndpoint(uri);
+
+        String columns = this.columnsByEndpoint.get(endpoint);
+
+        UriComponents components = UriComponentsBuilder.fromUri(uri)
+                                                       .build(true);
+
+        if ((columns == null) || components.getQueryParams()
+                                           .containsKey(ColumnProjectionInterceptor.COLUMNS_PARAMETER_NAME)) {
+            return execution.execute(request, body);
+        }
+
+        URI projectedUri = UriComponentsBuilder.fromUri(uri)
+                                               .queryParam(ColumnProjectionInterceptor.COLUMNS_PARAMETER_NAME,
+                                                   columns)
+                                               .build(true)
+                                               .toUri();
+
+        HttpRequest projectedRequest = new HttpRequestWrapper(request) {
+            @Override
+            public URI getURI() {
+                return projectedUri;
+            }
+        };
+
+        return execution.execute(projectedRequest, body);
+    }
+}
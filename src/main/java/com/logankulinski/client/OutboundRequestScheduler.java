@@ -0,0 +1,321 @@
+package com.logankulinski.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public final class OutboundRequestScheduler implements ClientHttpRequestInterceptor {
+    private final Map<String, TokenBucket> buckets;
+
+    private final Map<URI, CompletableFuture<BufferedResponse>> inFlightRequests;
+
+    private final Duration maxQueueWait;
+
+    private final int maxRetries;
+
+    private final Duration retryBaseDelay;
+
+    private final Duration retryMaxDelay;
+
+    private final MeterRegistry meterRegistry;
+
+    public record RateLimit(String host, double permitsPerSecond, int burst) {
+    }
+
+    private record BufferedResponse(HttpStatusCode statusCode, String statusText, HttpHeaders headers,
+        byte[] body) implements ClientHttpResponse {
+        static BufferedResponse of(ClientHttpResponse response) throws IOException {
+            Objects.requireNonNull(response);
+
+            HttpHeaders headers = HttpHeaders.readOnlyHttpHeaders(response.getHeaders());
+
+            byte[] body;
+
+            try (InputStream inputStream = response.getBody()) {
+                body = inputStream.readAllBytes();
+            }
+
+            return new BufferedResponse(response.getStatusCode(), response.getStatusText(), headers, body);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return this.statusCode;
+        }
+
+        @Override
+        public String getStatusText() {
+            return this.statusText;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return this.headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(this.body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    public OutboundRequestScheduler(List<RateLimit> rateLimits, int maxQueueDepth, Duration maxQueueWait,
+        int maxRetries, Duration retryBaseDelay, Duration retryMaxDelay, MeterRegistry meterRegistry) {
+        Objects.requireNonNull(rateLimits);
+
+        this.maxQueueWait = Objects.requireNonNull(maxQueueWait);
+
+        this.maxRetries = maxRetries;
+
+        this.retryBaseDelay = Objects.requireNonNull(retryBaseDelay);
+
+        this.retryMaxDelay = Objects.requireNonNull(retryMaxDelay);
+
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+
+        this.buckets = new HashMap<>();
+
+        for (RateLimit rateLimit : rateLimits) {
+            TokenBucket bucket = new TokenBucket(rateLimit.permitsPerSecond(), rateLimit.burst(), maxQueueDepth);
+
+            this.buckets.put(rateLimit.host(), bucket);
+
+            Gauge.builder("outbound.queue.depth", bucket, TokenBucket::getQueueDepth)
+                 .tag("host", rateLimit.host())
+                 .register(meterRegistry);
+        }
+
+        this.inFlightRequests = new ConcurrentHashMap<>();
+    }
+
+    private void acquire(String host, RequestPriority priority) throws IOException {
+        Objects.requireNonNull(host);
+
+        Objects.requireNonNull(priority);
+
+        TokenBucket bucket = this.buckets.get(host);
+
+        if (bucket == null) {
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        boolean acquired;
+
+        try {
+            acquired = bucket.acquire(priority, this.maxQueueWait);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+
+            String message = "Interrupted while waiting to send a request to %s".formatted(host);
+
+            throw new InterruptedIOException(message);
+        }
+
+        Timer.builder("outbound.queue.wait")
+             .tag("host", host)
+             .tag("priority", priority.name()
+                                      .toLowerCase())
+             .register(this.meterRegistry)
+             .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            Counter.builder("outbound.requests.dropped")
+                   .tag("host", host)
+                   .tag("priority", priority.name()
+                                            .toLowerCase())
+                   .register(this.meterRegistry)
+                   .increment();
+
+            String message = "Dropped a request to %s because no rate limit permit was available".formatted(host);
+
+            throw new IOException(message);
+        }
+    }
+
+    private boolean isRetryable(HttpStatusCode statusCode) {
+        Objects.requireNonNull(statusCode);
+
+        return (statusCode.value() == HttpStatus.TOO_MANY_REQUESTS.value()) || statusCode.is5xxServerError();
+    }
+
+    private Duration getRetryDelay(int attempt, HttpHeaders headers) {
+        Objects.requireNonNull(headers);
+
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+
+        if (retryAfter != null) {
+            try {
+                Duration delay = Duration.ofSeconds(Long.parseLong(retryAfter.strip()));
+
+                if (delay.compareTo(this.retryMaxDelay) <= 0) {
+                    return delay;
+                }
+
+                return this.retryMaxDelay;
+            } catch (NumberFormatException ignored) {
+            }
+        }
+
+        long ceiling = Math.min(this.retryMaxDelay.toMillis(), this.retryBaseDelay.toMillis() << Math.min(attempt, 20));
+
+        long delay = ThreadLocalRandom.current()
+                                      .nextLong(ceiling + 1L);
+
+        return Duration.ofMillis(delay);
+    }
+
+    private BufferedResponse execute(HttpRequest request, byte[] body, ClientHttpRequestExecution execution,
+        Runnable permitListener) throws IOException {
+        Objects.requireNonNull(request);
+
+        Objects.requireNonNull(body);
+
+        Objects.requireNonNull(execution);
+
+        Objects.requireNonNull(permitListener);
+
+        String host = Objects.requireNonNullElse(request.getURI()
+                                                        .getHost(), "");
+
+        RequestPriority priority = RequestPriority.current();
+
+        for (int attempt = 0; ; attempt++) {
+            this.acquire(host, priority);
+
+            if (attempt == 0) {
+                permitListener.run();
+            }
+
+            BufferedResponse response;
+
+            try (ClientHttpResponse clientResponse = execution.execute(request, body)) {
+                response = BufferedResponse.of(clientResponse);
+            }
+
+            HttpStatusCode statusCode = response.getStatusCode();
+
+            if (!this.isRetryable(statusCode) || (attempt >= this.maxRetries)) {
+                return response;
+            }
+
+            Counter.builder("outbound.requests.retried")
+                   .tag("host", host)
+                   .tag("status", String.valueOf(statusCode.value()))
+                   .register(this.meterRegistry)
+                   .increment();
+
+            Duration delay = this.getRetryDelay(attempt, response.getHeaders());
+
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+
+                String message = "Interrupted while retrying a request to %s".formatted(host);
+
+                throw new InterruptedIOException(message);
+            }
+        }
+    }
+
+    private ClientHttpResponse await(CompletableFuture<BufferedResponse> future) throws IOException {
+        Objects.requireNonNull(future);
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw e;
+        }
+    }
+
+    /*
+     * A request only becomes joinable once it holds a rate limit permit. Joining one that is still queued would let an
+     * interactive caller inherit a background request's place in the priority queue and wait behind every other
+     * interactive request for it, so until then each caller queues at its own priority.
+     */
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+        throws IOException {
+        Objects.requireNonNull(request);
+
+        Objects.requireNonNull(body);
+
+        Objects.requireNonNull(execution);
+
+        if (request.getMethod() != HttpMethod.GET) {
+            return this.execute(request, body, execution, () -> {
+            });
+        }
+
+        URI uri = request.getURI();
+
+        CompletableFuture<BufferedResponse> inFlightRequest = this.inFlightRequests.get(uri);
+
+        if (inFlightRequest != null) {
+            Counter.builder("outbound.requests.coalesced")
+                   .tag("host", Objects.requireNonNullElse(uri.getHost(), ""))
+                   .register(this.meterRegistry)
+                   .increment();
+
+            return this.await(inFlightRequest);
+        }
+
+        CompletableFuture<BufferedResponse> future = new CompletableFuture<>();
+
+        try {
+            BufferedResponse response = this.execute(request, body, execution,
+                () -> this.inFlightRequests.putIfAbsent(uri, future));
+
+            future.complete(response);
+
+            return response;
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+
+            throw e;
+        } finally {
+            this.inFlightRequests.remove(uri, future);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.logankulinski.client;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+public final class QueryParameterInterceptor implements ClientHttpRequestInterceptor {
+    private final String name;
+
+    private final String value;
+
+    public QueryParameterInterceptor(String name, String value) {
+        this.name = Objects.requireNonNull(name);
+
+        Objects.requireNonNull(value);
+
+        this.value = UriUtils.encodeQueryParam(value, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+        throws IOException {
+        Objects.requireNonNull(request);
+
+        Objects.requireNonNull(body);
+
+        Objects.requireNonNull(execution);
+
+        URI uri = UriComponentsBuilder.fromUri(request.getURI())
+                                      .queryParam(this.name, this.value)
+                                      .build(true)
+                                      .toUri();
+
+        HttpRequest wrappedRequest = new HttpRequestWrapper(request) {
+            @Override
+            public URI getURI() {
+                return uri;
+            }
+        };
+
+        return execution.execute(wrappedRequest, body);
+    }
+}
@@ -0,0 +1,34 @@
+package com.logankulinski.client;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+public enum RequestPriority {
+    INTERACTIVE,
+
+    BACKGROUND;
+
+    private static final ThreadLocal<RequestPriority> CURRENT;
+
+    static {
+        CURRENT = ThreadLocal.withInitial(() -> RequestPriority.INTERACTIVE);
+    }
+
+    public static RequestPriority current() {
+        return RequestPriority.CURRENT.get();
+    }
+
+    public <T> T supply(Supplier<T> supplier) {
+        Objects.requireNonNull(supplier);
+
+        RequestPriority previous = RequestPriority.CURRENT.get();
+
+        RequestPriority.CURRENT.set(this);
+
+        try {
+            return supplier.get();
+        } finally {
+            RequestPriority.CURRENT.set(previous);
+        }
+    }
+}
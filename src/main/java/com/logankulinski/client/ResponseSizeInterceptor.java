@@ -0,0 +1,155 @@
+package com.logankulinski.client;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+public final class ResponseSizeInterceptor implements ClientHttpRequestInterceptor {
+    private final String metricName;
+
+    private final MeterRegistry meterRegistry;
+
+    public ResponseSizeInterceptor(String metricName, MeterRegistry meterRegistry) {
+        this.metricName = Objects.requireNonNull(metricName);
+
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private final DistributionSummary summary;
+
+        private long count;
+
+        private boolean closed;
+
+        CountingInputStream(InputStream in, DistributionSummary summary) {
+            super(Objects.requireNonNull(in));
+
+            this.summary = Objects.requireNonNull(summary);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+
+            if (value != -1) {
+                this.count++;
+            }
+
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int bytesRead = super.read(buffer, offset, length);
+
+            if (bytesRead > 0) {
+                this.count += bytesRead;
+            }
+
+            return bytesRead;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+
+            this.count += skipped;
+
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!this.closed) {
+                this.closed = true;
+
+                this.summary.record(this.count);
+            }
+
+            super.close();
+        }
+    }
+
+    private static final class CountingResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+
+        private final DistributionSummary summary;
+
+        private CountingInputStream body;
+
+        CountingResponse(ClientHttpResponse response, DistributionSummary summary) {
+            this.response = Objects.requireNonNull(response);
+
+            this.summary = Objects.requireNonNull(summary);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return this.response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return this.response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return this.response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (this.body == null) {
+                this.body = new CountingInputStream(this.response.getBody(), this.summary);
+            }
+
+            return this.body;
+        }
+
+        @Override
+        public void close() {
+            if (this.body != null) {
+                try {
+                    this.body.close();
+                } catch (IOException ignored) {
+                }
+            }
+
+            this.response.close();
+        }
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+        throws IOException {
+        Objects.requireNonNull(request);
+
+        Objects.requireNonNull(body);
+
+        Objects.requireNonNull(execution);
+
+        String endpoint = ColumnProjectionInterceptor.getEndpoint(request.getURI());
+
+        DistributionSummary summary = DistributionSummary.builder(this.metricName)
+                                                         .baseUnit(BaseUnits.BYTES)
+                                                         .tag("endpoint", endpoint)
+                                                         .register(this.meterRegistry);
+
+        ClientHttpResponse response = execution.execute(request, body);
+
+        return new CountingResponse(response, summary);
+    }
+}
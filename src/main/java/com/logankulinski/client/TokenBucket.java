@@ -0,0 +1,136 @@
+package com.logankulinski.client;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public final class TokenBucket {
+    private final double permitsPerNanosecond;
+
+    private final double capacity;
+
+    private final int maxQueueDepth;
+
+    private final ReentrantLock lock;
+
+    private final Condition permitAvailable;
+
+    private final PriorityQueue<Waiter> waiters;
+
+    private double tokens;
+
+    private long lastRefillTime;
+
+    private long sequence;
+
+    private record Waiter(RequestPriority priority, long sequence) {
+    }
+
+    public TokenBucket(double permitsPerSecond, int burst, int maxQueueDepth) {
+        if (permitsPerSecond <= 0.0) {
+            String message = "%f is not a valid rate".formatted(permitsPerSecond);
+
+            throw new IllegalArgumentException(message);
+        }
+
+        if (burst < 1) {
+            String message = "%d is not a valid burst".formatted(burst);
+
+            throw new IllegalArgumentException(message);
+        }
+
+        this.permitsPerNanosecond = permitsPerSecond / 1_000_000_000.0;
+
+        this.capacity = burst;
+
+        this.maxQueueDepth = maxQueueDepth;
+
+        this.lock = new ReentrantLock();
+
+        this.permitAvailable = this.lock.newCondition();
+
+        Comparator<Waiter> comparator = Comparator.comparing(Waiter::priority)
+                                                  .thenComparingLong(Waiter::sequence);
+
+        this.waiters = new PriorityQueue<>(comparator);
+
+        this.tokens = burst;
+
+        this.lastRefillTime = System.nanoTime();
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+
+        this.tokens = Math.min(this.capacity, this.tokens + ((now - this.lastRefillTime) * this.permitsPerNanosecond));
+
+        this.lastRefillTime = now;
+    }
+
+    public boolean acquire(RequestPriority priority, Duration timeout) throws InterruptedException {
+        Objects.requireNonNull(priority);
+
+        Objects.requireNonNull(timeout);
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        this.lock.lock();
+
+        try {
+            if (this.waiters.size() >= this.maxQueueDepth) {
+                return false;
+            }
+
+            Waiter waiter = new Waiter(priority, this.sequence++);
+
+            this.waiters.add(waiter);
+
+            try {
+                while (true) {
+                    this.refill();
+
+                    boolean first = this.waiters.peek() == waiter;
+
+                    if (first && (this.tokens >= 1.0)) {
+                        this.tokens -= 1.0;
+
+                        return true;
+                    }
+
+                    long remaining = deadline - System.nanoTime();
+
+                    if (remaining <= 0L) {
+                        return false;
+                    }
+
+                    long wait = remaining;
+
+                    if (first) {
+                        wait = Math.min(wait, (long) Math.ceil((1.0 - this.tokens) / this.permitsPerNanosecond));
+                    }
+
+                    this.permitAvailable.awaitNanos(wait);
+                }
+            } finally {
+                this.waiters.remove(waiter);
+
+                this.permitAvailable.signalAll();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public int getQueueDepth() {
+        this.lock.lock();
+
+        try {
+            return this.waiters.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.logankulinski.client;
+
+import com.logankulinski.model.MarketBoard;
+import com.logankulinski.model.MarketBoards;
+import com.logankulinski.model.UniversalisDataCenter;
+import com.logankulinski.model.UniversalisWorld;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.service.annotation.GetExchange;
+
+import java.util.List;
+
+public interface UniversalisClient {
+    @GetExchange("/{worldDcRegion}/{itemId}")
+    MarketBoard getMarketBoard(@PathVariable String worldDcRegion, @PathVariable int itemId);
+
+    @GetExchange("/{worldDcRegion}/{itemIds}")
+    MarketBoards getMarketBoards(@PathVariable String worldDcRegion, @PathVariable String itemIds);
+
+    @GetExchange("/data-centers")
+    List<UniversalisDataCenter> getDataCenters();
+
+    @GetExchange("/worlds")
+    List<UniversalisWorld> getWorlds();
+}
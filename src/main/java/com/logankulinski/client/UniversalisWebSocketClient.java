@@ -0,0 +1,191 @@
+package com.logankulinski.client;
+
+import com.logankulinski.model.ListingEvent;
+import com.logankulinski.serialization.ListingEventCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+public final class UniversalisWebSocketClient implements WebSocket.Listener, AutoCloseable {
+    private final HttpClient httpClient;
+
+    private final URI uri;
+
+    private final List<String> channels;
+
+    private final Consumer<ListingEvent> consumer;
+
+    private final Runnable connectListener;
+
+    private final Duration reconnectDelay;
+
+    private final ListingEventCodec codec;
+
+    private final ByteArrayOutputStream messageBuffer;
+
+    private final AtomicBoolean reconnectScheduled;
+
+    private volatile WebSocket webSocket;
+
+    private volatile boolean closed;
+
+    private static final Logger LOGGER;
+
+    static {
+        LOGGER = LoggerFactory.getLogger(UniversalisWebSocketClient.class);
+    }
+
+    public UniversalisWebSocketClient(HttpClient httpClient, URI uri, List<String> channels,
+        Consumer<ListingEvent> consumer, Runnable connectListener, Duration reconnectDelay) {
+        this.httpClient = Objects.requireNonNull(httpClient);
+
+        this.uri = Objects.requireNonNull(uri);
+
+        this.channels = List.copyOf(channels);
+
+        this.consumer = Objects.requireNonNull(consumer);
+
+        this.connectListener = Objects.requireNonNull(connectListener);
+
+        this.reconnectDelay = Objects.requireNonNull(reconnectDelay);
+
+        this.codec = new ListingEventCodec();
+
+        this.messageBuffer = new ByteArrayOutputStream();
+
+        this.reconnectScheduled = new AtomicBoolean();
+    }
+
+    private CompletableFuture<WebSocket> subscribe(WebSocket webSocket) {
+        Objects.requireNonNull(webSocket);
+
+        CompletableFuture<WebSocket> future = CompletableFuture.completedFuture(webSocket);
+
+        for (String channel : this.channels) {
+            ByteBuffer message = this.codec.encodeSubscription(channel);
+
+            future = future.thenCompose(socket -> socket.sendBinary(message, true));
+        }
+
+        return future;
+    }
+
+    private void scheduleReconnect() {
+        if (this.closed || !this.reconnectScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        Executor executor = CompletableFuture.delayedExecutor(this.reconnectDelay.toMillis(), TimeUnit.MILLISECONDS);
+
+        CompletableFuture.runAsync(this::connect, executor);
+    }
+
+    public CompletableFuture<WebSocket> connect() {
+        this.reconnectScheduled.set(false);
+
+        return this.httpClient.newWebSocketBuilder()
+                              .buildAsync(this.uri, this)
+                              .thenCompose(this::subscribe)
+                              .whenComplete((webSocket, throwable) -> {
+                                  if (throwable == null) {
+                                      return;
+                                  }
+
+                                  String message = throwable.getMessage();
+
+                                  UniversalisWebSocketClient.LOGGER.error(message, throwable);
+
+                                  this.scheduleReconnect();
+                              });
+    }
+
+    @Override
+    public void onOpen(WebSocket webSocket) {
+        Objects.requireNonNull(webSocket);
+
+        this.webSocket = webSocket;
+
+        this.messageBuffer.reset();
+
+        this.connectListener.run();
+
+        webSocket.request(1L);
+    }
+
+    @Override
+    public CompletionStage<?> onBinary(WebSocket webSocket, ByteBuffer data, boolean last) {
+        Objects.requireNonNull(webSocket);
+
+        Objects.requireNonNull(data);
+
+        byte[] bytes = new byte[data.remaining()];
+
+        data.get(bytes);
+
+        this.messageBuffer.writeBytes(bytes);
+
+        if (last) {
+            ByteBuffer message = ByteBuffer.wrap(this.messageBuffer.toByteArray());
+
+            this.messageBuffer.reset();
+
+            try {
+                ListingEvent event = this.codec.decode(message);
+
+                this.consumer.accept(event);
+            } catch (RuntimeException e) {
+                String errorMessage = e.getMessage();
+
+                UniversalisWebSocketClient.LOGGER.error(errorMessage, e);
+            }
+        }
+
+        webSocket.request(1L);
+
+        return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+        UniversalisWebSocketClient.LOGGER.warn("Universalis WebSocket closed with status {}: {}", statusCode,
+            reason);
+
+        this.scheduleReconnect();
+
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+        String message = error.getMessage();
+
+        UniversalisWebSocketClient.LOGGER.error(message, error);
+
+        this.scheduleReconnect();
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+
+        WebSocket webSocket = this.webSocket;
+
+        if (webSocket != null) {
+            webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "");
+        }
+    }
+}
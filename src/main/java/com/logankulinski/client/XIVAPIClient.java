@@ -7,13 +7,34 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.service.annotation.GetExchange;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface XIVAPIClient {
     @GetExchange("/search?indexes=Item&string_algo=match")
     SearchResponse search(@RequestParam("string") String name);
 
+    @GetExchange("/Item?columns=ID,Name&limit=3000")
+    SearchResponse getItems(@RequestParam("page") int page);
+
     @GetExchange("/Item/{id}")
     Item getItem(@PathVariable int id);
 
     @GetExchange("/Recipe/{id}")
     Recipe getRecipe(@PathVariable int id);
+
+    default CompletableFuture<Item> getItemAsync(int id) {
+        try {
+            return CompletableFuture.completedFuture(this.getItem(id));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    default CompletableFuture<Recipe> getRecipeAsync(int id) {
+        try {
+            return CompletableFuture.completedFuture(this.getRecipe(id));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
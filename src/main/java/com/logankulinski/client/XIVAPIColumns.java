@@ -0,0 +1,59 @@
+package com.logankulinski.client;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public final class XIVAPIColumns {
+    private XIVAPIColumns() {
+    }
+
+    private static void addColumns(Class<?> recordClass, String prefix, List<String> columns) {
+        Objects.requireNonNull(recordClass);
+
+        Objects.requireNonNull(prefix);
+
+        Objects.requireNonNull(columns);
+
+        for (RecordComponent component : recordClass.getRecordComponents()) {
+            Field field;
+
+            try {
+                field = recordClass.getDeclaredField(component.getName());
+            } catch (NoSuchFieldException e) {
+                throw new IllegalStateException(e);
+            }
+
+            JsonAlias alias = field.getAnnotation(JsonAlias.class);
+
+            if ((alias == null) || (alias.value().length == 0)) {
+                continue;
+            }
+
+            String column = prefix + alias.value()[0];
+
+            Class<?> type = component.getType();
+
+            if (type.isRecord() && !type.isAnnotationPresent(JsonDeserialize.class)) {
+                XIVAPIColumns.addColumns(type, column + ".", columns);
+            } else {
+                columns.add(column);
+            }
+        }
+    }
+
+    public static List<String> of(Class<? extends Record> recordClass) {
+        Objects.requireNonNull(recordClass);
+
+        List<String> columns = new ArrayList<>();
+
+        XIVAPIColumns.addColumns(recordClass, "", columns);
+
+        return List.copyOf(columns);
+    }
+}
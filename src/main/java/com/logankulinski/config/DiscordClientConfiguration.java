@@ -1,34 +1,64 @@
 package com.logankulinski.config;
 
+import com.logankulinski.listener.InteractionDispatcher;
 import com.logankulinski.listener.ItemCostListener;
+import com.logankulinski.listener.ItemNameAutoCompleteListener;
 import com.logankulinski.listener.RecipeListener;
+import com.logankulinski.listener.RegionPriceListener;
+import com.logankulinski.listener.ShoppingListListener;
+import com.logankulinski.metrics.CommandMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.JDABuilder;
+import net.dv8tion.jda.api.hooks.EventListener;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
 
 @Configuration
 public class DiscordClientConfiguration {
     @Bean
-    public JDA jda(@Value("${discord.token}") String token, ItemCostListener itemCostListener,
-        RecipeListener recipeListener) throws InterruptedException {
-        Objects.requireNonNull(token);
-
+    public InteractionDispatcher interactionDispatcher(ItemCostListener itemCostListener,
+        RecipeListener recipeListener, RegionPriceListener regionPriceListener,
+        ShoppingListListener shoppingListListener, ItemNameAutoCompleteListener itemNameAutoCompleteListener,
+        ExecutorService executor, MeterRegistry meterRegistry, CommandMetrics commandMetrics,
+        @Value("${commands.max-concurrency}") int maxConcurrency,
+        @Value("${commands.max-guild-concurrency}") int maxGuildConcurrency,
+        @Value("${commands.max-queue-depth}") int maxQueueDepth) {
         Objects.requireNonNull(itemCostListener);
 
         Objects.requireNonNull(recipeListener);
 
+        Objects.requireNonNull(regionPriceListener);
+
+        Objects.requireNonNull(shoppingListListener);
+
+        Objects.requireNonNull(itemNameAutoCompleteListener);
+
+        List<EventListener> listeners = List.of(itemCostListener, recipeListener, regionPriceListener,
+            shoppingListListener, itemNameAutoCompleteListener);
+
+        return new InteractionDispatcher(listeners, executor, meterRegistry, commandMetrics, maxConcurrency,
+            maxGuildConcurrency, maxQueueDepth);
+    }
+
+    @Bean
+    public JDA jda(@Value("${discord.token}") String token, InteractionDispatcher interactionDispatcher)
+        throws InterruptedException {
+        Objects.requireNonNull(token);
+
+        Objects.requireNonNull(interactionDispatcher);
+
         JDA jda = JDABuilder.createDefault(token)
                             .build();
 
         jda.awaitReady();
 
-        jda.addEventListener(itemCostListener);
-
-        jda.addEventListener(recipeListener);
+        jda.addEventListener(interactionDispatcher);
 
         return jda;
     }
@@ -0,0 +1,18 @@
+package com.logankulinski.config;
+
+import com.logankulinski.metrics.CommandContextExecutorService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExecutorConfiguration {
+    @Bean(destroyMethod = "close")
+    public ExecutorService lookupExecutor() {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        return new CommandContextExecutorService(executor);
+    }
+}
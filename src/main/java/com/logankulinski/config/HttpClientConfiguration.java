@@ -1,25 +1,221 @@
 package com.logankulinski.config;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.logankulinski.client.CachingXIVAPIClient;
+import com.logankulinski.client.ColumnProjectionInterceptor;
+import com.logankulinski.client.OutboundRequestScheduler;
+import com.logankulinski.client.QueryParameterInterceptor;
+import com.logankulinski.client.ResponseSizeInterceptor;
 import com.logankulinski.client.XIVAPIClient;
+import com.logankulinski.client.XIVAPIColumns;
+import com.logankulinski.model.Item;
+import com.logankulinski.model.Recipe;
+import com.logankulinski.model.Result;
+import com.logankulinski.model.SearchResponse;
+import com.logankulinski.serialization.ItemCodec;
+import com.logankulinski.serialization.RecipeCodec;
+import com.logankulinski.serialization.RecipeDeserializer;
+import com.logankulinski.store.CatalogStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.support.RestClientAdapter;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+
 @Configuration
 public class HttpClientConfiguration {
+    private <K, V> AsyncCache<K, V> createCache(String name, long maximumSize, Duration timeToLive,
+        ExecutorService executor, MeterRegistry meterRegistry) {
+        Objects.requireNonNull(name);
+
+        Objects.requireNonNull(timeToLive);
+
+        Objects.requireNonNull(executor);
+
+        Objects.requireNonNull(meterRegistry);
+
+        AsyncCache<K, V> cache = Caffeine.newBuilder()
+                                         .maximumSize(maximumSize)
+                                         .expireAfterWrite(timeToLive)
+                                         .executor(executor)
+                                         .recordStats()
+                                         .buildAsync();
+
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    @Bean(destroyMethod = "close")
+    public CatalogStore<Item> itemCatalogStore(@Value("${xivapi.catalog.directory}") Path directory,
+        @Value("${xivapi.catalog.version}") String catalogVersion, @Value("${xivapi.catalog.max-age}") Duration maxAge)
+        throws IOException {
+        Objects.requireNonNull(directory);
+
+        Objects.requireNonNull(catalogVersion);
+
+        Objects.requireNonNull(maxAge);
+
+        Path path = directory.resolve("items.bin");
+
+        ItemCodec codec = new ItemCodec();
+
+        return CatalogStore.open(path, codec, catalogVersion, maxAge);
+    }
+
+    @Bean(destroyMethod = "close")
+    public CatalogStore<Recipe> recipeCatalogStore(@Value("${xivapi.catalog.directory}") Path directory,
+        @Value("${xivapi.catalog.version}") String catalogVersion, @Value("${xivapi.catalog.max-age}") Duration maxAge)
+        throws IOException {
+        Objects.requireNonNull(directory);
+
+        Objects.requireNonNull(catalogVersion);
+
+        Objects.requireNonNull(maxAge);
+
+        Path path = directory.resolve("recipes.bin");
+
+        RecipeCodec codec = new RecipeCodec();
+
+        return CatalogStore.open(path, codec, catalogVersion, maxAge);
+    }
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager xivapiConnectionManager(MeterRegistry meterRegistry,
+        @Value("${xivapi.http.connect-timeout}") Duration connectTimeout,
+        @Value("${xivapi.http.read-timeout}") Duration readTimeout,
+        @Value("${xivapi.http.connection-time-to-live}") Duration connectionTimeToLive,
+        @Value("${xivapi.http.max-connections}") int maxConnections) {
+        Objects.requireNonNull(meterRegistry);
+
+        Objects.requireNonNull(connectTimeout);
+
+        Objects.requireNonNull(readTimeout);
+
+        Objects.requireNonNull(connectionTimeToLive);
+
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                                                            .setConnectTimeout(Timeout.of(connectTimeout))
+                                                            .setSocketTimeout(Timeout.of(readTimeout))
+                                                            .setTimeToLive(TimeValue.of(connectionTimeToLive))
+                                                            .build();
+
+        PoolingHttpClientConnectionManagerBuilder builder = PoolingHttpClientConnectionManagerBuilder.create();
+
+        PoolingHttpClientConnectionManager connectionManager = builder.setMaxConnTotal(maxConnections)
+                                                                      .setMaxConnPerRoute(maxConnections)
+                                                                      .setDefaultConnectionConfig(connectionConfig)
+                                                                      .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "xivapi").bindTo(meterRegistry);
+
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient xivapiHttpClient(PoolingHttpClientConnectionManager xivapiConnectionManager,
+        @Value("${xivapi.http.read-timeout}") Duration readTimeout,
+        @Value("${xivapi.http.pool-timeout}") Duration poolTimeout,
+        @Value("${xivapi.http.idle-timeout}") Duration idleTimeout) {
+        Objects.requireNonNull(xivapiConnectionManager);
+
+        Objects.requireNonNull(readTimeout);
+
+        Objects.requireNonNull(poolTimeout);
+
+        Objects.requireNonNull(idleTimeout);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                                                   .setConnectionRequestTimeout(Timeout.of(poolTimeout))
+                                                   .setResponseTimeout(Timeout.of(readTimeout))
+                                                   .build();
+
+        return HttpClients.custom()
+                          .setConnectionManager(xivapiConnectionManager)
+                          .setDefaultRequestConfig(requestConfig)
+                          .evictExpiredConnections()
+                          .evictIdleConnections(TimeValue.of(idleTimeout))
+                          .build();
+    }
+
     @Bean
-    public XIVAPIClient xivapiClient() {
-        String baseUrl = "https://xivapi.com";
+    public XIVAPIClient xivapiClient(RestClient.Builder restClientBuilder, CloseableHttpClient xivapiHttpClient,
+        OutboundRequestScheduler outboundRequestScheduler, ExecutorService executor, MeterRegistry meterRegistry,
+        CatalogStore<Item> itemCatalogStore, CatalogStore<Recipe> recipeCatalogStore,
+        @Value("${xivapi.base-url}") String baseUrl, @Value("${xivapi.api-key:}") String apiKey,
+        @Value("${xivapi.cache.time-to-live}") Duration timeToLive,
+        @Value("${xivapi.cache.item-maximum-size}") long itemMaximumSize,
+        @Value("${xivapi.cache.recipe-maximum-size}") long recipeMaximumSize,
+        @Value("${xivapi.cache.search-maximum-size}") long searchMaximumSize) {
+        Objects.requireNonNull(baseUrl);
 
-        RestClient restClient = RestClient.create(baseUrl);
+        Objects.requireNonNull(apiKey);
+
+        Map<String, List<String>> columnsByEndpoint = Map.of(
+            "search", XIVAPIColumns.of(Result.class),
+            "Item/{id}", XIVAPIColumns.of(Item.class),
+            "Recipe/{id}", RecipeDeserializer.getColumns()
+        );
+
+        ColumnProjectionInterceptor projectionInterceptor = new ColumnProjectionInterceptor(columnsByEndpoint);
+
+        ResponseSizeInterceptor sizeInterceptor = new ResponseSizeInterceptor("xivapi.response.size",
+            meterRegistry);
+
+        HttpComponentsClientHttpRequestFactory requestFactory =
+            new HttpComponentsClientHttpRequestFactory(xivapiHttpClient);
+
+        restClientBuilder.baseUrl(baseUrl)
+                         .requestFactory(requestFactory)
+                         .requestInterceptor(projectionInterceptor)
+                         .requestInterceptor(sizeInterceptor);
+
+        if (!apiKey.isBlank()) {
+            QueryParameterInterceptor apiKeyInterceptor = new QueryParameterInterceptor("private_key", apiKey);
+
+            restClientBuilder.requestInterceptor(apiKeyInterceptor);
+        }
+
+        RestClient restClient = restClientBuilder.requestInterceptor(outboundRequestScheduler)
+                                                 .build();
 
         RestClientAdapter restClientAdapter = RestClientAdapter.create(restClient);
 
         HttpServiceProxyFactory httpServiceProxyFactory = HttpServiceProxyFactory.builderFor(restClientAdapter)
                                                                                  .build();
 
-        return httpServiceProxyFactory.createClient(XIVAPIClient.class);
+        XIVAPIClient client = httpServiceProxyFactory.createClient(XIVAPIClient.class);
+
+        AsyncCache<Integer, Item> itemCache = this.createCache("xivapi.items", itemMaximumSize, timeToLive,
+            executor, meterRegistry);
+
+        AsyncCache<Integer, Recipe> recipeCache = this.createCache("xivapi.recipes", recipeMaximumSize, timeToLive,
+            executor, meterRegistry);
+
+        AsyncCache<String, SearchResponse> searchCache = this.createCache("xivapi.searches", searchMaximumSize,
+            timeToLive, executor, meterRegistry);
+
+        return new CachingXIVAPIClient(client, itemCache, recipeCache, searchCache, itemCatalogStore,
+            recipeCatalogStore);
     }
 }
@@ -0,0 +1,43 @@
+package com.logankulinski.config;
+
+import com.logankulinski.client.OutboundRequestScheduler;
+import com.logankulinski.client.OutboundRequestScheduler.RateLimit;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+@Configuration
+public class OutboundRequestConfiguration {
+    @Bean
+    public OutboundRequestScheduler outboundRequestScheduler(MeterRegistry meterRegistry,
+        @Value("${xivapi.base-url}") URI xivapiBaseUrl, @Value("${universalis.base-url}") URI universalisBaseUrl,
+        @Value("${outbound.xivapi.permits-per-second}") double xivapiPermitsPerSecond,
+        @Value("${outbound.xivapi.burst}") int xivapiBurst,
+        @Value("${outbound.universalis.permits-per-second}") double universalisPermitsPerSecond,
+        @Value("${outbound.universalis.burst}") int universalisBurst,
+        @Value("${outbound.max-queue-depth}") int maxQueueDepth,
+        @Value("${outbound.max-queue-wait}") Duration maxQueueWait,
+        @Value("${outbound.max-retries}") int maxRetries,
+        @Value("${outbound.retry-base-delay}") Duration retryBaseDelay,
+        @Value("${outbound.retry-max-delay}") Duration retryMaxDelay) {
+        Objects.requireNonNull(xivapiBaseUrl);
+
+        Objects.requireNonNull(universalisBaseUrl);
+
+        RateLimit xivapiRateLimit = new RateLimit(xivapiBaseUrl.getHost(), xivapiPermitsPerSecond, xivapiBurst);
+
+        RateLimit universalisRateLimit = new RateLimit(universalisBaseUrl.getHost(), universalisPermitsPerSecond,
+            universalisBurst);
+
+        List<RateLimit> rateLimits = List.of(xivapiRateLimit, universalisRateLimit);
+
+        return new OutboundRequestScheduler(rateLimits, maxQueueDepth, maxQueueWait, maxRetries, retryBaseDelay,
+            retryMaxDelay, meterRegistry);
+    }
+}
@@ -0,0 +1,34 @@
+package com.logankulinski.config;
+
+import com.logankulinski.service.HotItemRefresher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Duration;
+import java.util.Objects;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration implements SchedulingConfigurer {
+    private final HotItemRefresher hotItemRefresher;
+
+    @Autowired
+    public SchedulingConfiguration(HotItemRefresher hotItemRefresher) {
+        this.hotItemRefresher = Objects.requireNonNull(hotItemRefresher);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        Objects.requireNonNull(taskRegistrar);
+
+        Duration interval = this.hotItemRefresher.getInterval();
+
+        FixedDelayTask task = new FixedDelayTask(this.hotItemRefresher::refresh, interval, interval);
+
+        taskRegistrar.addFixedDelayTask(task);
+    }
+}
@@ -1,14 +1,36 @@
 package com.logankulinski.config;
 
-import de.chojo.universalis.rest.UniversalisRest;
+import com.logankulinski.client.OutboundRequestScheduler;
+import com.logankulinski.client.UniversalisClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.support.RestClientAdapter;
+import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+
+import java.util.Objects;
 
 @Configuration
 public class UniversalisClientConfiguration {
     @Bean
-    public UniversalisRest universalisRest() {
-        return UniversalisRest.builder()
-                              .build();
+    public UniversalisClient universalisClient(RestClient.Builder restClientBuilder,
+        OutboundRequestScheduler outboundRequestScheduler, @Value("${universalis.base-url}") String baseUrl) {
+        Objects.requireNonNull(restClientBuilder);
+
+        Objects.requireNonNull(outboundRequestScheduler);
+
+        Objects.requireNonNull(baseUrl);
+
+        RestClient restClient = restClientBuilder.baseUrl(baseUrl)
+                                                 .requestInterceptor(outboundRequestScheduler)
+                                                 .build();
+
+        RestClientAdapter restClientAdapter = RestClientAdapter.create(restClient);
+
+        HttpServiceProxyFactory httpServiceProxyFactory = HttpServiceProxyFactory.builderFor(restClientAdapter)
+                                                                                 .build();
+
+        return httpServiceProxyFactory.createClient(UniversalisClient.class);
     }
 }
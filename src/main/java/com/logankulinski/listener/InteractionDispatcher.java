@@ -0,0 +1,253 @@
+package com.logankulinski.listener;
+
+import com.logankulinski.metrics.CommandContext;
+import com.logankulinski.metrics.CommandMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+import net.dv8tion.jda.api.interactions.callbacks.IReplyCallback;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class InteractionDispatcher implements EventListener {
+    private final List<EventListener> listeners;
+
+    private final ExecutorService executor;
+
+    private final Semaphore globalPermits;
+
+    private final Map<Long, Semaphore> guildPermits;
+
+    private final int maxGuildConcurrency;
+
+    private final int maxQueueDepth;
+
+    private final AtomicInteger queueDepth;
+
+    private final Counter rejectedCounter;
+
+    private final CommandMetrics commandMetrics;
+
+    private static final long DIRECT_MESSAGE_GUILD_ID;
+
+    private static final String BUTTON_COMMAND_NAME;
+
+    private static final Logger LOGGER;
+
+    static {
+        DIRECT_MESSAGE_GUILD_ID = 0L;
+
+        BUTTON_COMMAND_NAME = "button";
+
+        LOGGER = LoggerFactory.getLogger(InteractionDispatcher.class);
+    }
+
+    public InteractionDispatcher(List<EventListener> listeners, ExecutorService executor, MeterRegistry meterRegistry,
+        CommandMetrics commandMetrics, int maxConcurrency, int maxGuildConcurrency, int maxQueueDepth) {
+        Objects.requireNonNull(listeners);
+
+        Objects.requireNonNull(meterRegistry);
+
+        this.listeners = List.copyOf(listeners);
+
+        this.executor = Objects.requireNonNull(executor);
+
+        this.globalPermits = new Semaphore(maxConcurrency, true);
+
+        this.guildPermits = new ConcurrentHashMap<>();
+
+        this.maxGuildConcurrency = maxGuildConcurrency;
+
+        this.maxQueueDepth = maxQueueDepth;
+
+        this.queueDepth = new AtomicInteger();
+
+        Gauge.builder("discord.interactions.queued", this.queueDepth, AtomicInteger::get)
+             .description("Interactions waiting for a concurrency permit")
+             .register(meterRegistry);
+
+        this.rejectedCounter = Counter.builder("discord.interactions.rejected")
+                                      .description("Interactions rejected because the queue was full")
+                                      .register(meterRegistry);
+
+        this.commandMetrics = Objects.requireNonNull(commandMetrics);
+    }
+
+    private long getGuildId(IReplyCallback callback) {
+        Objects.requireNonNull(callback);
+
+        Guild guild = callback.getGuild();
+
+        if (guild == null) {
+            return InteractionDispatcher.DIRECT_MESSAGE_GUILD_ID;
+        }
+
+        return guild.getIdLong();
+    }
+
+    private CommandContext getContext(IReplyCallback callback, GenericEvent event) {
+        Objects.requireNonNull(callback);
+
+        Objects.requireNonNull(event);
+
+        String commandName = InteractionDispatcher.BUTTON_COMMAND_NAME;
+
+        if (event instanceof SlashCommandInteractionEvent slashCommandEvent) {
+            commandName = slashCommandEvent.getName();
+        }
+
+        String correlationId = callback.getId();
+
+        return new CommandContext(correlationId, commandName, "none");
+    }
+
+    /*
+     * The dispatcher defers deferrable interactions itself, so it also tells the user when a listener fails; otherwise
+     * the deferred reply would sit on "thinking..." until Discord expires the interaction. callback is null for events
+     * that were not deferred.
+     */
+    private void forward(GenericEvent event, IReplyCallback callback) {
+        Objects.requireNonNull(event);
+
+        boolean reported = false;
+
+        for (EventListener listener : this.listeners) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                String message = e.getMessage();
+
+                InteractionDispatcher.LOGGER.error(message, e);
+
+                if ((callback != null) && !reported) {
+                    reported = true;
+
+                    String errorMessage = "Sorry, an error occurred. Please try again later";
+
+                    callback.getHook()
+                            .sendMessage(errorMessage)
+                            .setEphemeral(true)
+                            .queue();
+                }
+            }
+        }
+    }
+
+    private void run(IReplyCallback callback, GenericEvent event) {
+        Objects.requireNonNull(callback);
+
+        Objects.requireNonNull(event);
+
+        long guildId = this.getGuildId(callback);
+
+        Semaphore guildSemaphore = this.guildPermits.computeIfAbsent(guildId,
+            key -> new Semaphore(this.maxGuildConcurrency, true));
+
+        try {
+            guildSemaphore.acquire();
+        } catch (InterruptedException e) {
+            this.queueDepth.decrementAndGet();
+
+            Thread.currentThread()
+                  .interrupt();
+
+            return;
+        }
+
+        try {
+            this.globalPermits.acquire();
+        } catch (InterruptedException e) {
+            this.queueDepth.decrementAndGet();
+
+            guildSemaphore.release();
+
+            Thread.currentThread()
+                  .interrupt();
+
+            return;
+        }
+
+        this.queueDepth.decrementAndGet();
+
+        CommandContext context = this.getContext(callback, event);
+
+        try {
+            context.run(() -> {
+                this.commandMetrics.recordInteraction();
+
+                this.forward(event, callback);
+            });
+        } finally {
+            this.globalPermits.release();
+
+            guildSemaphore.release();
+        }
+    }
+
+    @Override
+    public void onEvent(@NotNull GenericEvent event) {
+        boolean deferrable = (event instanceof SlashCommandInteractionEvent) ||
+            (event instanceof ButtonInteractionEvent);
+
+        if (!deferrable) {
+            this.forward(event, null);
+
+            return;
+        }
+
+        IReplyCallback callback = (IReplyCallback) event;
+
+        if (this.queueDepth.incrementAndGet() > this.maxQueueDepth) {
+            this.queueDepth.decrementAndGet();
+
+            this.rejectedCounter.increment();
+
+            String message = "The bot is busy right now. Please try again in a moment";
+
+            callback.reply(message)
+                    .setEphemeral(true)
+                    .queue();
+
+            return;
+        }
+
+        boolean ephemeral = true;
+
+        callback.deferReply(ephemeral)
+                .queue();
+
+        try {
+            this.executor.execute(() -> this.run(callback, event));
+        } catch (RejectedExecutionException e) {
+            this.queueDepth.decrementAndGet();
+
+            this.rejectedCounter.increment();
+
+            String message = e.getMessage();
+
+            InteractionDispatcher.LOGGER.error(message, e);
+
+            String busyMessage = "The bot is busy right now. Please try again in a moment";
+
+            callback.getHook()
+                    .sendMessage(busyMessage)
+                    .setEphemeral(true)
+                    .queue();
+        }
+    }
+}
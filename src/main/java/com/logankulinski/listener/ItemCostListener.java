@@ -1,13 +1,13 @@
 package com.logankulinski.listener;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.logankulinski.client.XIVAPIClient;
+import com.logankulinski.metrics.CommandContext;
+import com.logankulinski.metrics.CommandMetrics;
+import com.logankulinski.metrics.CommandStage;
 import com.logankulinski.model.*;
-import de.chojo.universalis.entities.Listing;
-import de.chojo.universalis.entities.Price;
-import de.chojo.universalis.rest.UniversalisRest;
-import de.chojo.universalis.rest.response.MarketBoardResponse;
+import com.logankulinski.serialization.ButtonIdCodec;
+import com.logankulinski.service.CraftingCostEngine;
+import com.logankulinski.service.IngredientPricingService;
+import com.logankulinski.service.ItemNameIndex;
 import de.chojo.universalis.worlds.DataCenter;
 import de.chojo.universalis.worlds.Worlds;
 import net.dv8tion.jda.api.entities.emoji.Emoji;
@@ -19,21 +19,33 @@ import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Base64;
-import java.util.Comparator;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Component
 public final class ItemCostListener extends ListenerAdapter {
-    private final XIVAPIClient xivapiClient;
+    private final ItemNameIndex itemNameIndex;
 
-    private final UniversalisRest universalisClient;
+    private final IngredientPricingService pricingService;
 
-    private final ObjectMapper mapper;
+    private final CraftingCostEngine craftingCostEngine;
+
+    private final CommandMetrics commandMetrics;
+
+    private final ButtonIdCodec buttonIdCodec;
+
+    private final Duration commandDeadline;
 
     private static final String COMMAND_NAME;
 
@@ -41,6 +53,10 @@ public final class ItemCostListener extends ListenerAdapter {
 
     private static final String DATA_CENTER_OPTION_NAME;
 
+    private static final String CRAFTS_OPTION_NAME;
+
+    private static final String SINGLE_WORLD_OPTION_NAME;
+
     private static final Logger LOGGER;
 
     static {
@@ -50,16 +66,52 @@ public final class ItemCostListener extends ListenerAdapter {
 
         DATA_CENTER_OPTION_NAME = "data-center";
 
+        CRAFTS_OPTION_NAME = "crafts";
+
+        SINGLE_WORLD_OPTION_NAME = "single-world";
+
         LOGGER = LoggerFactory.getLogger(ItemCostListener.class);
     }
 
     @Autowired
-    public ItemCostListener(XIVAPIClient xivapiClient, UniversalisRest universalisClient, ObjectMapper mapper) {
-        this.xivapiClient = Objects.requireNonNull(xivapiClient);
+    public ItemCostListener(ItemNameIndex itemNameIndex, IngredientPricingService pricingService,
+        CraftingCostEngine craftingCostEngine, CommandMetrics commandMetrics,
+        @Value("${commands.deadline}") Duration commandDeadline) {
+        this.itemNameIndex = Objects.requireNonNull(itemNameIndex);
+
+        this.pricingService = Objects.requireNonNull(pricingService);
+
+        this.craftingCostEngine = Objects.requireNonNull(craftingCostEngine);
 
-        this.universalisClient = Objects.requireNonNull(universalisClient);
+        this.commandMetrics = Objects.requireNonNull(commandMetrics);
 
-        this.mapper = Objects.requireNonNull(mapper);
+        this.buttonIdCodec = new ButtonIdCodec();
+
+        this.commandDeadline = Objects.requireNonNull(commandDeadline);
+    }
+
+    /*
+     * The snapshots are fetched while the crafting cost is computed, so this only times the wait that is left over.
+     * Prices that miss the deadline are rendered as missing rather than failing the command.
+     */
+    private Map<Integer, MarketSnapshot> awaitSnapshots(CompletableFuture<Map<Integer, MarketSnapshot>> future,
+        long deadline) {
+        Objects.requireNonNull(future);
+
+        try (CommandMetrics.StageTimer ignored = this.commandMetrics.start(CommandStage.MARKET_FETCH)) {
+            return future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+
+            return Map.of();
+        } catch (ExecutionException | TimeoutException e) {
+            String message = e.getMessage();
+
+            ItemCostListener.LOGGER.error(message, e);
+
+            return Map.of();
+        }
     }
 
     private String getOptionValue(SlashCommandInteractionEvent event, String optionName) {
@@ -72,66 +124,40 @@ public final class ItemCostListener extends ListenerAdapter {
         return optionMapping.getAsString();
     }
 
-    private enum Quality {
-        NORMAL,
-        HIGH
+    private String getPriceString(MarketListing listing) {
+        if (listing == null) {
+            return "none";
+        }
+
+        int pricePerUnit = listing.pricePerUnit();
+
+        return "%,d gil".formatted(pricePerUnit);
     }
 
-    private Listing getCheapestListing(DataCenter dataCenter, int itemId, Quality quality) {
-        Objects.requireNonNull(dataCenter);
+    private String getWorldListingsMessage(Map<String, CheapestListings> worldListings) {
+        Objects.requireNonNull(worldListings);
 
-        Objects.requireNonNull(quality);
+        StringBuilder stringBuilder = new StringBuilder();
 
-        boolean highQuality = quality == Quality.HIGH;
+        stringBuilder.append("- **Cheapest listing by world**\n");
 
-        MarketBoardResponse response;
+        List<String> worldNames = new ArrayList<>(worldListings.keySet());
 
-        try {
-            response = this.universalisClient.marketBoard()
-                                             .dataCenter(dataCenter)
-                                             .itemsIds(itemId)
-                                             .highQuality(highQuality)
-                                             .queue()
-                                             .get();
-        } catch (InterruptedException | ExecutionException e) {
-            String message = e.getMessage();
+        worldNames.sort(null);
 
-            ItemCostListener.LOGGER.error(message, e);
+        for (String worldName : worldNames) {
+            CheapestListings cheapestListings = worldListings.get(worldName);
 
-            return null;
-        }
+            String normalQualityPrice = this.getPriceString(cheapestListings.normalQualityListing());
 
-        return response.listings()
-                       .stream()
-                       .sorted(Comparator.comparingInt(listing -> listing.price()
-                                                                         .pricePerUnit()))
-                       .limit(1L)
-                       .findAny()
-                       .orElse(null);
-    }
+            String highQualityPrice = this.getPriceString(cheapestListings.highQualityListing());
 
-    private Listing getCheapestListing(DataCenter dataCenter, int itemId) {
-        return this.getCheapestListing(dataCenter, itemId, Quality.NORMAL);
-    }
+            String message = "  - %s: NQ %s, HQ %s%n".formatted(worldName, normalQualityPrice, highQualityPrice);
+
+            stringBuilder.append(message);
+        }
 
-    private Integer getCheapestIngredientCost(DataCenter dataCenter, int itemId) {
-        Objects.requireNonNull(dataCenter);
-
-        Item item = this.xivapiClient.getItem(itemId);
-
-        return item.recipes()
-                   .stream()
-                   .map(Item.Recipe::id)
-                   .map(this.xivapiClient::getRecipe)
-                   .map(Recipe::ingredients)
-                   .map(ingredients -> ingredients.stream()
-                                                  .map(Ingredient::id)
-                                                  .map(id -> this.getCheapestListing(dataCenter, id))
-                                                  .map(Listing::price)
-                                                  .mapToInt(Price::pricePerUnit)
-                                                  .sum())
-                   .min(Integer::compare)
-                   .orElse(null);
+        return stringBuilder.toString();
     }
 
     @Override
@@ -147,7 +173,8 @@ public final class ItemCostListener extends ListenerAdapter {
         if (name == null) {
             String message = "A name is required";
 
-            event.reply(message)
+            event.getHook()
+                 .sendMessage(message)
                  .queue();
 
             return;
@@ -158,7 +185,8 @@ public final class ItemCostListener extends ListenerAdapter {
         if (dataCenterString == null) {
             String message = "A data center is required";
 
-            event.reply(message)
+            event.getHook()
+                 .sendMessage(message)
                  .queue();
 
             return;
@@ -169,21 +197,18 @@ public final class ItemCostListener extends ListenerAdapter {
         if (dataCenter == null) {
             String message = "The specified data center is invalid";
 
-            event.reply(message)
+            event.getHook()
+                 .sendMessage(message)
                  .queue();
 
             return;
         }
 
-        event.deferReply()
-             .setEphemeral(true)
-             .queue();
+        CommandContext.setDataCenterName(dataCenter.name());
 
-        SearchResponse searchResponse = this.xivapiClient.search(name);
+        ItemName result = this.commandMetrics.record(CommandStage.SEARCH, () -> this.itemNameIndex.resolve(name));
 
-        List<Result> results = searchResponse.results();
-
-        if (results.isEmpty()) {
+        if (result == null) {
             String message = "No items were found with the name \"%s\"".formatted(name);
 
             event.getHook()
@@ -193,15 +218,51 @@ public final class ItemCostListener extends ListenerAdapter {
             return;
         }
 
-        Result result = results.getFirst();
-
         String itemName = result.name();
 
         int itemId = result.id();
 
-        Listing listing = this.getCheapestListing(dataCenter, itemId);
+        List<Integer> itemIds = List.of(itemId);
+
+        long deadline = System.nanoTime() + this.commandDeadline.toNanos();
+
+        CompletableFuture<Map<Integer, MarketSnapshot>> snapshotsFuture = this.pricingService.getSnapshotsAsync(
+            dataCenter, itemIds);
+
+        OptionMapping craftsMapping = event.getOption(ItemCostListener.CRAFTS_OPTION_NAME);
+
+        int craftCount = (craftsMapping == null) ? 1 : craftsMapping.getAsInt();
+
+        OptionMapping singleWorldMapping = event.getOption(ItemCostListener.SINGLE_WORLD_OPTION_NAME);
+
+        boolean singleWorld = (singleWorldMapping != null) && singleWorldMapping.getAsBoolean();
+
+        Long ingredientCost = this.craftingCostEngine.getCheapestCraftingCost(dataCenter, itemId, craftCount,
+            singleWorld);
+
+        Map<Integer, MarketSnapshot> snapshots = this.awaitSnapshots(snapshotsFuture, deadline);
+
+        MarketSnapshot snapshot = snapshots.get(itemId);
+
+        CommandMetrics.StageTimer renderTimer = this.commandMetrics.start(CommandStage.RENDER);
+
+        MarketListing listing = null;
+
+        MarketListing highQualityListing = null;
+
+        Map<String, CheapestListings> worldListings = Map.of();
+
+        if (snapshot != null) {
+            ListingSelection selection = snapshot.selection();
+
+            CheapestListings cheapestListings = selection.cheapestListings();
+
+            listing = cheapestListings.normalQualityListing();
 
-        Listing highQualityListing = this.getCheapestListing(dataCenter, itemId, Quality.HIGH);
+            highQualityListing = cheapestListings.highQualityListing();
+
+            worldListings = selection.worldListings();
+        }
 
         StringBuilder stringBuilder = new StringBuilder();
 
@@ -210,11 +271,9 @@ public final class ItemCostListener extends ListenerAdapter {
         if (listing == null) {
             stringBuilder.append("- **No normal quality listings found**\n");
         } else {
-            int cost = listing.price()
-                             .pricePerUnit();
+            int cost = listing.pricePerUnit();
 
-            String world = listing.world()
-                                 .name();
+            String world = listing.worldName();
 
             stringBuilder.append("""
             - **Cheapest normal quality listing**
@@ -225,11 +284,9 @@ public final class ItemCostListener extends ListenerAdapter {
         if (highQualityListing == null) {
             stringBuilder.append("- **No high quality listings found**\n");
         } else {
-            int highQualityCost = highQualityListing.price()
-                                                     .pricePerUnit();
+            int highQualityCost = highQualityListing.pricePerUnit();
 
-            String highQualityWorld = highQualityListing.world()
-                                                       .name();
+            String highQualityWorld = highQualityListing.worldName();
 
             stringBuilder.append("""
             - **Cheapest high quality listing**
@@ -237,12 +294,27 @@ public final class ItemCostListener extends ListenerAdapter {
             """.formatted(highQualityCost, highQualityWorld));
         }
 
-        Integer ingredientCost = this.getCheapestIngredientCost(dataCenter, itemId);
+        if (!worldListings.isEmpty()) {
+            String worldListingsMessage = this.getWorldListingsMessage(worldListings);
+
+            stringBuilder.append(worldListingsMessage);
+        }
 
         if (ingredientCost != null) {
+            String craftsLabel = (craftCount == 1) ? "" : " (%d crafts)".formatted(craftCount);
+
             stringBuilder.append("""
-            - **Cheapest ingredient cost**
-              - %,d gil""".formatted(ingredientCost));
+            - **Cheapest ingredient cost%s**
+              - %,d gil
+            """.formatted(craftsLabel, ingredientCost));
+        }
+
+        if (snapshot != null) {
+            Instant fetchedAt = snapshot.fetchedAt();
+
+            String dataAgeMessage = MarketDataAge.getMessage(fetchedAt);
+
+            stringBuilder.append(dataAgeMessage);
         }
 
         String message = stringBuilder.toString();
@@ -251,39 +323,28 @@ public final class ItemCostListener extends ListenerAdapter {
 
         ButtonMetadata buttonMetadata = new ButtonMetadata(dataCenterName, itemId);
 
-        String buttonMetadataJson;
+        String id = this.buttonIdCodec.encode(buttonMetadata);
 
-        try {
-            buttonMetadataJson = this.mapper.writeValueAsString(buttonMetadata);
-        } catch (JsonProcessingException e) {
-            String errorMessage = e.getMessage();
+        if (id == null) {
+            renderTimer.close();
 
-            ItemCostListener.LOGGER.error(errorMessage, e);
-
-            event.getHook()
-                 .sendMessage(message)
-                 .queue();
+            this.commandMetrics.queue(event.getHook()
+                                           .sendMessage(message));
 
             return;
         }
 
-        byte[] buttonMetadataBytes = buttonMetadataJson.getBytes();
-
-        String id = Base64.getEncoder()
-                          .encodeToString(buttonMetadataBytes);
-
-        ItemCostListener.LOGGER.info("Button metadata: {}", id);
-
         String label = "Get recipe";
 
         String toolsUnicode = "U+1F6E0";
 
-        event.getHook()
-             .sendMessage(message)
-             .addActionRow(
-                 Button.primary(id, label)
-                       .withEmoji(Emoji.fromUnicode(toolsUnicode))
-             )
-             .queue();
+        renderTimer.close();
+
+        this.commandMetrics.queue(event.getHook()
+                                       .sendMessage(message)
+                                       .addActionRow(
+                                           Button.primary(id, label)
+                                                 .withEmoji(Emoji.fromUnicode(toolsUnicode))
+                                       ));
     }
 }
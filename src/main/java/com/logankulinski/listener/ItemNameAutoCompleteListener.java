@@ -0,0 +1,73 @@
+package com.logankulinski.listener;
+
+import com.logankulinski.model.ItemName;
+import com.logankulinski.service.ItemNameIndex;
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.interactions.AutoCompleteQuery;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+@Component
+public final class ItemNameAutoCompleteListener extends ListenerAdapter {
+    private final ItemNameIndex itemNameIndex;
+
+    private static final String NAME_OPTION_NAME;
+
+    private static final int MAX_CHOICES;
+
+    private static final int MAX_CHOICE_NAME_LENGTH;
+
+    static {
+        NAME_OPTION_NAME = "name";
+
+        MAX_CHOICES = 25;
+
+        MAX_CHOICE_NAME_LENGTH = 100;
+    }
+
+    @Autowired
+    public ItemNameAutoCompleteListener(ItemNameIndex itemNameIndex) {
+        this.itemNameIndex = Objects.requireNonNull(itemNameIndex);
+    }
+
+    private Command.Choice getChoice(ItemName itemName) {
+        Objects.requireNonNull(itemName);
+
+        String name = itemName.name();
+
+        if (name.length() > ItemNameAutoCompleteListener.MAX_CHOICE_NAME_LENGTH) {
+            name = name.substring(0, ItemNameAutoCompleteListener.MAX_CHOICE_NAME_LENGTH);
+        }
+
+        String value = String.valueOf(itemName.id());
+
+        return new Command.Choice(name, value);
+    }
+
+    @Override
+    public void onCommandAutoCompleteInteraction(@NotNull CommandAutoCompleteInteractionEvent event) {
+        AutoCompleteQuery focusedOption = event.getFocusedOption();
+
+        String optionName = focusedOption.getName();
+
+        if (!Objects.equals(optionName, ItemNameAutoCompleteListener.NAME_OPTION_NAME)) {
+            return;
+        }
+
+        String query = focusedOption.getValue();
+
+        List<Command.Choice> choices = this.itemNameIndex.search(query, ItemNameAutoCompleteListener.MAX_CHOICES)
+                                                         .stream()
+                                                         .map(this::getChoice)
+                                                         .toList();
+
+        event.replyChoices(choices)
+             .queue();
+    }
+}
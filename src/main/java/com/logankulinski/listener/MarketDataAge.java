@@ -0,0 +1,26 @@
+package com.logankulinski.listener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+final class MarketDataAge {
+    private MarketDataAge() {
+    }
+
+    static String getMessage(Instant fetchedAt) {
+        Objects.requireNonNull(fetchedAt);
+
+        Duration age = Duration.between(fetchedAt, Instant.now());
+
+        long seconds = age.toSeconds();
+
+        if (seconds < 60L) {
+            return "*Market data is %d seconds old*".formatted(seconds);
+        }
+
+        long minutes = age.toMinutes();
+
+        return "*Market data is %d minutes old*".formatted(minutes);
+    }
+}
@@ -1,13 +1,13 @@
 package com.logankulinski.listener;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.logankulinski.client.XIVAPIClient;
+import com.logankulinski.metrics.CommandContext;
+import com.logankulinski.metrics.CommandMetrics;
+import com.logankulinski.metrics.CommandStage;
 import com.logankulinski.model.*;
-import de.chojo.universalis.entities.Listing;
-import de.chojo.universalis.entities.Price;
-import de.chojo.universalis.rest.UniversalisRest;
-import de.chojo.universalis.rest.response.MarketBoardResponse;
+import com.logankulinski.serialization.ButtonIdCodec;
+import com.logankulinski.service.IngredientPricingService;
+import com.logankulinski.service.ItemNameIndex;
 import de.chojo.universalis.worlds.DataCenter;
 import de.chojo.universalis.worlds.Worlds;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
@@ -19,21 +19,45 @@ import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Base64;
-import java.util.Comparator;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 @Component
 public final class RecipeListener extends ListenerAdapter {
     private final XIVAPIClient xivapiClient;
 
-    private final UniversalisRest universalisClient;
+    private final ItemNameIndex itemNameIndex;
 
-    private final ObjectMapper mapper;
+    private final IngredientPricingService pricingService;
+
+    private final CommandMetrics commandMetrics;
+
+    private final RecipeMessageRenderer renderer;
+
+    private final ButtonIdCodec buttonIdCodec;
+
+    private final Duration commandDeadline;
+
+    private final int chunkSize;
+
+    private final Duration editInterval;
 
     private static final String COMMAND_NAME;
 
@@ -53,13 +77,38 @@ public final class RecipeListener extends ListenerAdapter {
         LOGGER = LoggerFactory.getLogger(RecipeListener.class);
     }
 
+    private record PriceChunk(List<Integer> itemIds, CompletableFuture<Map<Integer, MarketSnapshot>> future) {
+    }
+
     @Autowired
-    public RecipeListener(XIVAPIClient xivapiClient, UniversalisRest universalisClient, ObjectMapper mapper) {
+    public RecipeListener(XIVAPIClient xivapiClient, ItemNameIndex itemNameIndex,
+        IngredientPricingService pricingService, CommandMetrics commandMetrics, RecipeMessageRenderer renderer,
+        @Value("${commands.deadline}") Duration commandDeadline,
+        @Value("${commands.recipe.chunk-size}") int chunkSize,
+        @Value("${commands.recipe.edit-interval}") Duration editInterval) {
+        if (chunkSize < 1) {
+            String message = "%d is not a valid chunk size".formatted(chunkSize);
+
+            throw new IllegalArgumentException(message);
+        }
+
         this.xivapiClient = Objects.requireNonNull(xivapiClient);
 
-        this.universalisClient = Objects.requireNonNull(universalisClient);
+        this.itemNameIndex = Objects.requireNonNull(itemNameIndex);
+
+        this.pricingService = Objects.requireNonNull(pricingService);
 
-        this.mapper = Objects.requireNonNull(mapper);
+        this.commandMetrics = Objects.requireNonNull(commandMetrics);
+
+        this.renderer = Objects.requireNonNull(renderer);
+
+        this.buttonIdCodec = new ButtonIdCodec();
+
+        this.commandDeadline = Objects.requireNonNull(commandDeadline);
+
+        this.chunkSize = chunkSize;
+
+        this.editInterval = Objects.requireNonNull(editInterval);
     }
 
     private String getOptionValue(SlashCommandInteractionEvent event, String optionName) {
@@ -72,175 +121,181 @@ public final class RecipeListener extends ListenerAdapter {
         return optionMapping.getAsString();
     }
 
-    private record CheapestListings(Listing normalQualityListing, Listing highQualityListing) {
+    private String render(String itemName, List<Ingredient> ingredients, Map<Integer, MarketSnapshot> snapshots,
+        Set<Integer> pendingItemIds) {
+        return this.commandMetrics.record(CommandStage.RENDER,
+            () -> this.renderer.render(itemName, ingredients, snapshots, pendingItemIds));
     }
 
-    private CheapestListings getListings(DataCenter dataCenter, int itemId) {
-        Objects.requireNonNull(dataCenter);
+    private boolean collect(List<PriceChunk> pendingChunks, Map<Integer, MarketSnapshot> snapshots,
+        Set<Integer> pendingItemIds) {
+        Objects.requireNonNull(pendingChunks);
 
-        MarketBoardResponse response;
+        Objects.requireNonNull(snapshots);
 
-        try {
-            response = this.universalisClient.marketBoard()
-                                             .dataCenter(dataCenter)
-                                             .itemsIds(itemId)
-                                             .queue()
-                                             .get();
-        } catch (InterruptedException | ExecutionException e) {
-            String message = e.getMessage();
+        Objects.requireNonNull(pendingItemIds);
 
-            RecipeListener.LOGGER.error(message, e);
+        boolean collected = false;
 
-            return null;
-        }
+        Iterator<PriceChunk> iterator = pendingChunks.iterator();
 
-        Listing normalQualityListing = response.listings()
-                                               .stream()
-                                               .filter(listing -> !listing.meta()
-                                                                        .hq())
-                                               .min(Comparator.comparingInt(listing -> listing.price()
-                                                                                            .pricePerUnit()))
-                                               .orElse(null);
+        while (iterator.hasNext()) {
+            PriceChunk chunk = iterator.next();
 
-        Listing highQualityListing = response.listings()
-                                             .stream()
-                                             .filter(listing -> listing.meta()
-                                                                        .hq())
-                                             .min(Comparator.comparingInt(listing -> listing.price()
-                                                                                            .pricePerUnit()))
-                                             .orElse(null);
+            CompletableFuture<Map<Integer, MarketSnapshot>> future = chunk.future();
 
-        return new CheapestListings(normalQualityListing, highQualityListing);
-    }
-
-    private String getIngredientsMessage(DataCenter dataCenter, Ingredient ingredient) {
-        Objects.requireNonNull(dataCenter);
-
-        Objects.requireNonNull(ingredient);
+            if (!future.isDone()) {
+                continue;
+            }
 
-        String ingredientName = ingredient.name();
+            iterator.remove();
 
-        int amount = ingredient.amount();
+            collected = true;
 
-        int ingredientId = ingredient.id();
+            chunk.itemIds()
+                 .forEach(pendingItemIds::remove);
 
-        CheapestListings cheapestListings = this.getListings(dataCenter, ingredientId);
+            try {
+                snapshots.putAll(future.join());
+            } catch (CancellationException | CompletionException e) {
+                String message = e.getMessage();
 
-        if (cheapestListings == null) {
-            return null;
+                RecipeListener.LOGGER.error(message, e);
+            }
         }
 
-        Listing normalQualityListing = cheapestListings.normalQualityListing();
-
-        Listing highQualityListing = cheapestListings.highQualityListing();
+        return collected;
+    }
 
-        StringBuilder stringBuilder = new StringBuilder();
+    /*
+     * Collects price chunks until they have all landed or the command deadline passes, publishing the partial message
+     * whenever one lands. Edits are kept at least editInterval apart to stay inside Discord's edit rate limit, so a
+     * chunk that lands sooner is folded into the next edit. Nothing is published if every chunk was already cached.
+     */
+    private void awaitPrices(List<PriceChunk> chunks, Map<Integer, MarketSnapshot> snapshots,
+        Set<Integer> pendingItemIds, Runnable publisher) {
+        Objects.requireNonNull(chunks);
 
-        if ((normalQualityListing == null) && (highQualityListing == null)) {
-            String message = "- **%s** (%d) (No listings)%n".formatted(ingredientName, amount);
+        Objects.requireNonNull(publisher);
 
-            stringBuilder.append(message);
+        List<PriceChunk> pendingChunks = new ArrayList<>(chunks);
 
-            return stringBuilder.toString();
-        }
+        long intervalNanos = this.editInterval.toNanos();
 
-        String message = "- **%s** (%d)%n".formatted(ingredientName, amount);
+        long deadline = System.nanoTime() + this.commandDeadline.toNanos();
 
-        stringBuilder.append(message);
+        long lastEditTime = System.nanoTime() - intervalNanos;
 
-        if (normalQualityListing != null) {
-            Price price = normalQualityListing.price();
+        boolean changed = true;
 
-            int pricePerUnit = price.pricePerUnit();
+        this.collect(pendingChunks, snapshots, pendingItemIds);
 
-            int quantity = price.quantity();
+        while (!pendingChunks.isEmpty()) {
+            long now = System.nanoTime();
 
-            String worldName = normalQualityListing.world()
-                                                   .name();
+            if (now >= deadline) {
+                return;
+            }
 
-            String listingMessage = "  - NQ: %,d gil on %s (%d available)%n".formatted(pricePerUnit, worldName,
-                quantity);
+            if (changed && ((now - lastEditTime) >= intervalNanos)) {
+                publisher.run();
 
-            stringBuilder.append(listingMessage);
-        }
+                lastEditTime = now;
 
-        if (highQualityListing != null) {
-            Price price = highQualityListing.price();
+                changed = false;
+            }
 
-            int pricePerUnit = price.pricePerUnit();
+            long wakeTime = changed ? Math.min(deadline, lastEditTime + intervalNanos) : deadline;
 
-            int quantity = price.quantity();
+            CompletableFuture<?>[] futures = pendingChunks.stream()
+                                                          .map(PriceChunk::future)
+                                                          .toArray(CompletableFuture[]::new);
 
-            String worldName = highQualityListing.world()
-                                                 .name();
+            try {
+                CompletableFuture.anyOf(futures)
+                                 .get(wakeTime - now, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
 
-            String listingMessage = "  - HQ: %,d gil on %s (%d available)%n".formatted(pricePerUnit, worldName,
-                quantity);
+                return;
+            } catch (ExecutionException | TimeoutException ignored) {
+            }
 
-            stringBuilder.append(listingMessage);
+            changed |= this.collect(pendingChunks, snapshots, pendingItemIds);
         }
-
-        return stringBuilder.toString();
     }
 
-    private void respondToInteraction(DataCenter dataCenter, int itemId, InteractionHook hook) {
+    public String getRecipeMessage(DataCenter dataCenter, int itemId, Consumer<String> progressListener) {
         Objects.requireNonNull(dataCenter);
 
-        Objects.requireNonNull(hook);
+        Objects.requireNonNull(progressListener);
+
+        CommandContext.setDataCenterName(dataCenter.name());
 
-        Item item = this.xivapiClient.getItem(itemId);
+        Item item = this.commandMetrics.record(CommandStage.ITEM_FETCH, () -> this.xivapiClient.getItem(itemId));
 
         List<Item.Recipe> recipes = item.recipes();
 
         if (recipes.isEmpty()) {
-            String message = "No recipes were found for this item";
+            return "No recipes were found for this item";
+        }
 
-            hook.sendMessage(message)
-                .setEphemeral(true)
-                .queue();
+        int recipeId = recipes.getFirst()
+                              .id();
 
-            return;
-        }
+        Recipe recipe = this.commandMetrics.record(CommandStage.RECIPE_FETCH,
+            () -> this.xivapiClient.getRecipe(recipeId));
 
-        StringBuilder stringBuilder = new StringBuilder();
+        List<Ingredient> ingredients = recipe.ingredients()
+                                             .stream()
+                                             .filter(Objects::nonNull)
+                                             .toList();
 
-        String itemName = item.name();
+        List<Integer> ingredientIds = ingredients.stream()
+                                                 .map(Ingredient::id)
+                                                 .distinct()
+                                                 .toList();
 
-        stringBuilder.append("**%s Recipe**%n".formatted(itemName));
+        List<PriceChunk> chunks = new ArrayList<>();
 
-        int recipeId = recipes.getFirst()
-                              .id();
+        for (int start = 0; start < ingredientIds.size(); start += this.chunkSize) {
+            int end = Math.min(start + this.chunkSize, ingredientIds.size());
 
-        Recipe recipe = this.xivapiClient.getRecipe(recipeId);
+            List<Integer> chunkItemIds = ingredientIds.subList(start, end);
 
-        for (Ingredient ingredient : recipe.ingredients()) {
-            if (ingredient == null) {
-                continue;
-            }
+            CompletableFuture<Map<Integer, MarketSnapshot>> future = this.pricingService.getSnapshotsAsync(dataCenter,
+                chunkItemIds);
 
-            String ingredientMessage = this.getIngredientsMessage(dataCenter, ingredient);
+            chunks.add(new PriceChunk(chunkItemIds, future));
+        }
 
-            if (ingredientMessage == null) {
-                String ingredientName = ingredient.name();
+        String itemName = item.name();
 
-                String message = """
-                An error occurred while fetching the listings for %s. Please try again \
-                later""".formatted(ingredientName);
+        Map<Integer, MarketSnapshot> snapshots = new HashMap<>();
 
-                hook.sendMessage(message)
-                    .queue();
+        Set<Integer> pendingItemIds = new HashSet<>(ingredientIds);
 
-                return;
-            }
+        try (CommandMetrics.StageTimer ignored = this.commandMetrics.start(CommandStage.MARKET_FETCH)) {
+            this.awaitPrices(chunks, snapshots, pendingItemIds, () -> {
+                String message = this.render(itemName, ingredients, snapshots, pendingItemIds);
 
-            stringBuilder.append(ingredientMessage);
+                progressListener.accept(message);
+            });
         }
 
-        String message = stringBuilder.toString();
+        return this.render(itemName, ingredients, snapshots, Set.of());
+    }
+
+    private void respondToInteraction(DataCenter dataCenter, int itemId, InteractionHook hook) {
+        Objects.requireNonNull(dataCenter);
+
+        Objects.requireNonNull(hook);
 
-        hook.sendMessage(message)
-            .setEphemeral(true)
-            .queue();
+        String message = this.getRecipeMessage(dataCenter, itemId,
+            progressMessage -> this.commandMetrics.queue(hook.editOriginal(progressMessage)));
+
+        this.commandMetrics.queue(hook.editOriginal(message));
     }
 
     @Override
@@ -256,8 +311,8 @@ public final class RecipeListener extends ListenerAdapter {
         if (name == null) {
             String message = "A name is required";
 
-            event.reply(message)
-                 .setEphemeral(true)
+            event.getHook()
+                 .sendMessage(message)
                  .queue();
 
             return;
@@ -268,8 +323,8 @@ public final class RecipeListener extends ListenerAdapter {
         if (dataCenterString == null) {
             String message = "A data center is required";
 
-            event.reply(message)
-                 .setEphemeral(true)
+            event.getHook()
+                 .sendMessage(message)
                  .queue();
 
             return;
@@ -277,26 +332,18 @@ public final class RecipeListener extends ListenerAdapter {
 
         DataCenter dataCenter = Worlds.datacenterByName(dataCenterString);
 
-        SearchResponse searchResponse = this.xivapiClient.search(name);
-
-        List<Result> results = searchResponse.results();
+        ItemName result = this.commandMetrics.record(CommandStage.SEARCH, () -> this.itemNameIndex.resolve(name));
 
-        if (results.isEmpty()) {
+        if (result == null) {
             String message = "No items were found with the name \"%s\"".formatted(name);
 
-            event.reply(message)
-                 .setEphemeral(true)
+            event.getHook()
+                 .sendMessage(message)
                  .queue();
 
             return;
         }
 
-        event.deferReply()
-             .setEphemeral(true)
-             .queue();
-
-        Result result = results.getFirst();
-
         int itemId = result.id();
 
         InteractionHook hook = event.getHook();
@@ -308,27 +355,19 @@ public final class RecipeListener extends ListenerAdapter {
     public void onButtonInteraction(@NotNull ButtonInteractionEvent event) {
         String componentId = event.getComponentId();
 
-        byte[] buttonMetadataBytes = Base64.getDecoder()
-                                           .decode(componentId);
-
-        String buttonMetadataString = new String(buttonMetadataBytes);
-
-        ButtonMetadata buttonMetadata;
+        ButtonMetadata buttonMetadata = this.buttonIdCodec.decode(componentId);
 
-        try {
-            buttonMetadata = this.mapper.readValue(buttonMetadataString, ButtonMetadata.class);
-        } catch (JsonProcessingException e) {
-            String errorMessage = e.getMessage();
+        if (buttonMetadata == null) {
+            String message = "This button is no longer supported. Please run the command again";
 
-            RecipeListener.LOGGER.error(errorMessage, e);
+            event.getHook()
+                 .sendMessage(message)
+                 .setEphemeral(true)
+                 .queue();
 
             return;
         }
 
-        event.deferReply()
-             .setEphemeral(true)
-             .queue();
-
         String dataCenterName = buttonMetadata.dataCenter();
 
         DataCenter dataCenter = Worlds.datacenterByName(dataCenterName);
@@ -0,0 +1,146 @@
+package com.logankulinski.listener;
+
+import com.logankulinski.model.*;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+@Component
+public final class RecipeMessageRenderer {
+    public static final String PENDING_PRICE_MESSAGE;
+
+    static {
+        PENDING_PRICE_MESSAGE = "*Fetching price...*";
+    }
+
+    private String getIngredientsMessage(Ingredient ingredient, CheapestListings cheapestListings) {
+        Objects.requireNonNull(ingredient);
+
+        Objects.requireNonNull(cheapestListings);
+
+        String ingredientName = ingredient.name();
+
+        int amount = ingredient.amount();
+
+        MarketListing normalQualityListing = cheapestListings.normalQualityListing();
+
+        MarketListing highQualityListing = cheapestListings.highQualityListing();
+
+        StringBuilder stringBuilder = new StringBuilder();
+
+        if ((normalQualityListing == null) && (highQualityListing == null)) {
+            String message = "- **%s** (%d) (No listings)%n".formatted(ingredientName, amount);
+
+            stringBuilder.append(message);
+
+            return stringBuilder.toString();
+        }
+
+        String message = "- **%s** (%d)%n".formatted(ingredientName, amount);
+
+        stringBuilder.append(message);
+
+        if (normalQualityListing != null) {
+            int pricePerUnit = normalQualityListing.pricePerUnit();
+
+            int quantity = normalQualityListing.quantity();
+
+            String worldName = normalQualityListing.worldName();
+
+            String listingMessage = "  - NQ: %,d gil on %s (%d available)%n".formatted(pricePerUnit, worldName,
+                quantity);
+
+            stringBuilder.append(listingMessage);
+        }
+
+        if (highQualityListing != null) {
+            int pricePerUnit = highQualityListing.pricePerUnit();
+
+            int quantity = highQualityListing.quantity();
+
+            String worldName = highQualityListing.worldName();
+
+            String listingMessage = "  - HQ: %,d gil on %s (%d available)%n".formatted(pricePerUnit, worldName,
+                quantity);
+
+            stringBuilder.append(listingMessage);
+        }
+
+        return stringBuilder.toString();
+    }
+
+    private String getUnpricedMessage(Ingredient ingredient, boolean pending) {
+        Objects.requireNonNull(ingredient);
+
+        String ingredientName = ingredient.name();
+
+        int amount = ingredient.amount();
+
+        String status = pending ? RecipeMessageRenderer.PENDING_PRICE_MESSAGE : "(Price unavailable)";
+
+        return "- **%s** (%d) %s%n".formatted(ingredientName, amount, status);
+    }
+
+    /*
+     * Ingredients without a snapshot are rendered in place rather than dropped: as still loading while their ID is in
+     * pendingItemIds, and as unavailable once their fetch has failed or run out of time.
+     */
+    public String render(String itemName, List<Ingredient> ingredients, Map<Integer, MarketSnapshot> snapshots,
+        Set<Integer> pendingItemIds) {
+        Objects.requireNonNull(itemName);
+
+        Objects.requireNonNull(ingredients);
+
+        Objects.requireNonNull(snapshots);
+
+        Objects.requireNonNull(pendingItemIds);
+
+        StringBuilder stringBuilder = new StringBuilder();
+
+        stringBuilder.append("**%s Recipe**%n".formatted(itemName));
+
+        boolean unavailable = false;
+
+        for (Ingredient ingredient : ingredients) {
+            int ingredientId = ingredient.id();
+
+            MarketSnapshot snapshot = snapshots.get(ingredientId);
+
+            if (snapshot == null) {
+                boolean pending = pendingItemIds.contains(ingredientId);
+
+                unavailable |= !pending;
+
+                String unpricedMessage = this.getUnpricedMessage(ingredient, pending);
+
+                stringBuilder.append(unpricedMessage);
+
+                continue;
+            }
+
+            CheapestListings cheapestListings = snapshot.selection()
+                                                        .cheapestListings();
+
+            String ingredientMessage = this.getIngredientsMessage(ingredient, cheapestListings);
+
+            stringBuilder.append(ingredientMessage);
+        }
+
+        if (unavailable) {
+            stringBuilder.append("*Some prices could not be fetched. Please try again later*\n");
+        }
+
+        snapshots.values()
+                 .stream()
+                 .map(MarketSnapshot::fetchedAt)
+                 .min(Instant::compareTo)
+                 .map(MarketDataAge::getMessage)
+                 .ifPresent(stringBuilder::append);
+
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,217 @@
+package com.logankulinski.listener;
+
+import com.logankulinski.metrics.CommandContext;
+import com.logankulinski.metrics.CommandMetrics;
+import com.logankulinski.metrics.CommandStage;
+import com.logankulinski.model.*;
+import com.logankulinski.service.ItemNameIndex;
+import com.logankulinski.service.RegionPriceService;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+@Component
+public final class RegionPriceListener extends ListenerAdapter {
+    private final ItemNameIndex itemNameIndex;
+
+    private final RegionPriceService regionPriceService;
+
+    private final CommandMetrics commandMetrics;
+
+    private static final String COMMAND_NAME;
+
+    private static final String NAME_OPTION_NAME;
+
+    private static final String REGION_OPTION_NAME;
+
+    private static final int MAX_WORLD_ROWS;
+
+    static {
+        COMMAND_NAME = "region-price";
+
+        NAME_OPTION_NAME = "name";
+
+        REGION_OPTION_NAME = "region";
+
+        MAX_WORLD_ROWS = 10;
+    }
+
+    @Autowired
+    public RegionPriceListener(ItemNameIndex itemNameIndex, RegionPriceService regionPriceService,
+        CommandMetrics commandMetrics) {
+        this.itemNameIndex = Objects.requireNonNull(itemNameIndex);
+
+        this.regionPriceService = Objects.requireNonNull(regionPriceService);
+
+        this.commandMetrics = Objects.requireNonNull(commandMetrics);
+    }
+
+    private String getOptionValue(SlashCommandInteractionEvent event, String optionName) {
+        OptionMapping optionMapping = event.getOption(optionName);
+
+        if (optionMapping == null) {
+            return null;
+        }
+
+        return optionMapping.getAsString();
+    }
+
+    private String getPriceString(MarketListing listing) {
+        if (listing == null) {
+            return "-";
+        }
+
+        int pricePerUnit = listing.pricePerUnit();
+
+        return "%,d".formatted(pricePerUnit);
+    }
+
+    private String getRow(int rank, String location, CheapestListings cheapestListings) {
+        Objects.requireNonNull(location);
+
+        Objects.requireNonNull(cheapestListings);
+
+        String normalQualityPrice = this.getPriceString(cheapestListings.normalQualityListing());
+
+        String highQualityPrice = this.getPriceString(cheapestListings.highQualityListing());
+
+        return "%2d  %-26s %11s %11s%n".formatted(rank, location, normalQualityPrice, highQualityPrice);
+    }
+
+    private String getMessage(String itemName, Region region, RegionPrices regionPrices) {
+        Objects.requireNonNull(itemName);
+
+        Objects.requireNonNull(region);
+
+        Objects.requireNonNull(regionPrices);
+
+        StringBuilder stringBuilder = new StringBuilder();
+
+        stringBuilder.append("**%s in %s**%n".formatted(itemName, region.getDisplayName()));
+
+        List<DataCenterPrice> dataCenterPrices = regionPrices.dataCenterPrices();
+
+        if (dataCenterPrices.isEmpty()) {
+            stringBuilder.append("No listings could be fetched in time. Please try again later\n");
+
+            return stringBuilder.toString();
+        }
+
+        String header = "%2s  %-26s %11s %11s%n".formatted("#", "Location", "NQ (gil)", "HQ (gil)");
+
+        stringBuilder.append("```\n");
+
+        stringBuilder.append(header);
+
+        for (int i = 0; i < dataCenterPrices.size(); i++) {
+            DataCenterPrice dataCenterPrice = dataCenterPrices.get(i);
+
+            String row = this.getRow(i + 1, dataCenterPrice.dataCenterName(), dataCenterPrice.cheapestListings());
+
+            stringBuilder.append(row);
+        }
+
+        stringBuilder.append("\n");
+
+        stringBuilder.append(header);
+
+        List<WorldPrice> worldPrices = regionPrices.worldPrices();
+
+        int worldRows = Math.min(worldPrices.size(), RegionPriceListener.MAX_WORLD_ROWS);
+
+        for (int i = 0; i < worldRows; i++) {
+            WorldPrice worldPrice = worldPrices.get(i);
+
+            String location = "%s (%s)".formatted(worldPrice.worldName(), worldPrice.dataCenterName());
+
+            String row = this.getRow(i + 1, location, worldPrice.cheapestListings());
+
+            stringBuilder.append(row);
+        }
+
+        stringBuilder.append("```\n");
+
+        List<String> missingDataCenterNames = regionPrices.missingDataCenterNames();
+
+        if (!missingDataCenterNames.isEmpty()) {
+            String missingMessage = "*No data from %s in time*%n".formatted(String.join(", ",
+                missingDataCenterNames));
+
+            stringBuilder.append(missingMessage);
+        }
+
+        Instant fetchedAt = regionPrices.fetchedAt();
+
+        if (fetchedAt != null) {
+            String dataAgeMessage = MarketDataAge.getMessage(fetchedAt);
+
+            stringBuilder.append(dataAgeMessage);
+        }
+
+        return stringBuilder.toString();
+    }
+
+    @Override
+    public void onSlashCommandInteraction(@NotNull SlashCommandInteractionEvent event) {
+        String commandName = event.getName();
+
+        if (!Objects.equals(commandName, RegionPriceListener.COMMAND_NAME)) {
+            return;
+        }
+
+        String name = this.getOptionValue(event, RegionPriceListener.NAME_OPTION_NAME);
+
+        if (name == null) {
+            String message = "A name is required";
+
+            event.getHook()
+                 .sendMessage(message)
+                 .queue();
+
+            return;
+        }
+
+        String regionString = this.getOptionValue(event, RegionPriceListener.REGION_OPTION_NAME);
+
+        Region region = (regionString == null) ? null : Region.fromDisplayName(regionString);
+
+        if (region == null) {
+            String message = "The specified region is invalid";
+
+            event.getHook()
+                 .sendMessage(message)
+                 .queue();
+
+            return;
+        }
+
+        CommandContext.setDataCenterName(region.getDisplayName());
+
+        ItemName result = this.commandMetrics.record(CommandStage.SEARCH, () -> this.itemNameIndex.resolve(name));
+
+        if (result == null) {
+            String message = "No items were found with the name \"%s\"".formatted(name);
+
+            event.getHook()
+                 .sendMessage(message)
+                 .queue();
+
+            return;
+        }
+
+        RegionPrices regionPrices = this.regionPriceService.getRegionPrices(region, result.id());
+
+        String message = this.commandMetrics.record(CommandStage.RENDER,
+            () -> this.getMessage(result.name(), region, regionPrices));
+
+        this.commandMetrics.queue(event.getHook()
+                                       .sendMessage(message));
+    }
+}
@@ -0,0 +1,422 @@
+package com.logankulinski.listener;
+
+import com.logankulinski.metrics.CommandContext;
+import com.logankulinski.metrics.CommandMetrics;
+import com.logankulinski.metrics.CommandStage;
+import com.logankulinski.model.*;
+import com.logankulinski.service.ItemNameIndex;
+import com.logankulinski.service.ShoppingListService;
+import de.chojo.universalis.worlds.DataCenter;
+import de.chojo.universalis.worlds.Worlds;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+public final class ShoppingListListener extends ListenerAdapter {
+    private final ItemNameIndex itemNameIndex;
+
+    private final ShoppingListService shoppingListService;
+
+    private final CommandMetrics commandMetrics;
+
+    private final Duration commandDeadline;
+
+    private final int maxItems;
+
+    private static final String COMMAND_NAME;
+
+    private static final String ITEMS_OPTION_NAME;
+
+    private static final String DATA_CENTER_OPTION_NAME;
+
+    private static final Pattern ENTRY_SEPARATOR;
+
+    private static final Pattern LEADING_QUANTITY;
+
+    private static final Pattern TRAILING_QUANTITY;
+
+    private static final int MAX_MESSAGE_LENGTH;
+
+    private static final int MAX_QUANTITY;
+
+    private static final Logger LOGGER;
+
+    static {
+        COMMAND_NAME = "shopping-list";
+
+        ITEMS_OPTION_NAME = "items";
+
+        DATA_CENTER_OPTION_NAME = "data-center";
+
+        ENTRY_SEPARATOR = Pattern.compile("[,;\\n]");
+
+        LEADING_QUANTITY = Pattern.compile("^(\\d+)\\s*[xX*]?\\s+(.+)$");
+
+        TRAILING_QUANTITY = Pattern.compile("^(.+?)\\s*[xX*]\\s*(\\d+)$");
+
+        MAX_MESSAGE_LENGTH = 1900;
+
+        MAX_QUANTITY = 9999;
+
+        LOGGER = LoggerFactory.getLogger(ShoppingListListener.class);
+    }
+
+    @Autowired
+    public ShoppingListListener(ItemNameIndex itemNameIndex, ShoppingListService shoppingListService,
+        CommandMetrics commandMetrics, @Value("${commands.deadline}") Duration commandDeadline,
+        @Value("${commands.shopping-list.max-items}") int maxItems) {
+        this.itemNameIndex = Objects.requireNonNull(itemNameIndex);
+
+        this.shoppingListService = Objects.requireNonNull(shoppingListService);
+
+        this.commandMetrics = Objects.requireNonNull(commandMetrics);
+
+        this.commandDeadline = Objects.requireNonNull(commandDeadline);
+
+        this.maxItems = maxItems;
+    }
+
+    private record Entry(String name, int quantity) {
+    }
+
+    private String getOptionValue(SlashCommandInteractionEvent event, String optionName) {
+        OptionMapping optionMapping = event.getOption(optionName);
+
+        if (optionMapping == null) {
+            return null;
+        }
+
+        return optionMapping.getAsString();
+    }
+
+    /*
+     * Quantities are capped at the largest stack the market board sells, so summing duplicate entries cannot overflow.
+     */
+    private int parseQuantity(String digits) {
+        Objects.requireNonNull(digits);
+
+        String maxString = String.valueOf(ShoppingListListener.MAX_QUANTITY);
+
+        if (digits.length() > maxString.length()) {
+            return ShoppingListListener.MAX_QUANTITY;
+        }
+
+        int quantity = Integer.parseInt(digits);
+
+        return Math.min(quantity, ShoppingListListener.MAX_QUANTITY);
+    }
+
+    private Entry parseEntry(String text) {
+        Objects.requireNonNull(text);
+
+        Matcher leadingMatcher = ShoppingListListener.LEADING_QUANTITY.matcher(text);
+
+        if (leadingMatcher.matches()) {
+            return new Entry(leadingMatcher.group(2), this.parseQuantity(leadingMatcher.group(1)));
+        }
+
+        Matcher trailingMatcher = ShoppingListListener.TRAILING_QUANTITY.matcher(text);
+
+        if (trailingMatcher.matches()) {
+            return new Entry(trailingMatcher.group(1), this.parseQuantity(trailingMatcher.group(2)));
+        }
+
+        return new Entry(text, 1);
+    }
+
+    private List<Entry> parseEntries(String items) {
+        Objects.requireNonNull(items);
+
+        List<Entry> entries = new ArrayList<>();
+
+        for (String part : ShoppingListListener.ENTRY_SEPARATOR.split(items)) {
+            String text = part.strip();
+
+            if (text.isEmpty()) {
+                continue;
+            }
+
+            Entry entry;
+
+            try {
+                entry = this.parseEntry(text);
+            } catch (NumberFormatException e) {
+                entry = new Entry(text, 1);
+            }
+
+            if (entry.quantity() > 0) {
+                entries.add(entry);
+            }
+        }
+
+        return entries;
+    }
+
+    private String getLineMessage(ShoppingListLine line) {
+        Objects.requireNonNull(line);
+
+        ShoppingListItem item = line.item();
+
+        PurchasePlan plan = line.plan();
+
+        if (plan == null) {
+            return "- **%s** x%d: only %d available%n".formatted(item.name(), item.quantity(),
+                line.availableQuantity());
+        }
+
+        Set<String> worldNames = new LinkedHashSet<>();
+
+        plan.listings()
+            .forEach(listing -> worldNames.add(listing.worldName()));
+
+        return "- **%s** x%d: %,d gil (%s)%n".formatted(item.name(), item.quantity(), plan.totalCost(),
+            String.join(", ", worldNames));
+    }
+
+    private void sendPaginated(InteractionHook hook, List<String> lines) {
+        Objects.requireNonNull(hook);
+
+        Objects.requireNonNull(lines);
+
+        StringBuilder stringBuilder = new StringBuilder();
+
+        for (String line : lines) {
+            if ((stringBuilder.length() + line.length()) > ShoppingListListener.MAX_MESSAGE_LENGTH) {
+                this.commandMetrics.queue(hook.sendMessage(stringBuilder.toString()));
+
+                stringBuilder.setLength(0);
+            }
+
+            stringBuilder.append(line);
+        }
+
+        if (!stringBuilder.isEmpty()) {
+            this.commandMetrics.queue(hook.sendMessage(stringBuilder.toString()));
+        }
+    }
+
+    private List<ShoppingListItem> resolve(List<Entry> entries, List<String> unresolvedNames) {
+        Objects.requireNonNull(entries);
+
+        Objects.requireNonNull(unresolvedNames);
+
+        Map<Integer, ShoppingListItem> items = new LinkedHashMap<>();
+
+        for (Entry entry : entries) {
+            ItemName itemName = this.itemNameIndex.resolve(entry.name());
+
+            if (itemName == null) {
+                unresolvedNames.add(entry.name());
+
+                continue;
+            }
+
+            items.merge(itemName.id(), new ShoppingListItem(itemName.id(), itemName.name(), entry.quantity()),
+                (item, newItem) -> new ShoppingListItem(item.itemId(), item.name(),
+                    Math.min(item.quantity() + newItem.quantity(), ShoppingListListener.MAX_QUANTITY)));
+        }
+
+        return new ArrayList<>(items.values());
+    }
+
+    private void respond(DataCenter dataCenter, List<ShoppingListItem> items, List<String> unresolvedNames,
+        InteractionHook hook) {
+        Objects.requireNonNull(dataCenter);
+
+        Objects.requireNonNull(items);
+
+        Objects.requireNonNull(unresolvedNames);
+
+        Objects.requireNonNull(hook);
+
+        String header = "**Shopping list for %d items on %s**".formatted(items.size(), dataCenter.name());
+
+        this.commandMetrics.queue(hook.sendMessage(header));
+
+        AtomicLong totalCost = new AtomicLong();
+
+        AtomicInteger pricedCount = new AtomicInteger();
+
+        /*
+         * Chunk sends and the summary are serialized on this lock, and a chunk that lands after the summary is dropped
+         * so no line is posted below the total it was left out of.
+         */
+        Object sendLock = new Object();
+
+        AtomicBoolean summarized = new AtomicBoolean();
+
+        List<CompletableFuture<List<ShoppingListLine>>> futures = this.shoppingListService.price(dataCenter, items);
+
+        List<CompletableFuture<Void>> sentFutures = new ArrayList<>(futures.size());
+
+        for (CompletableFuture<List<ShoppingListLine>> future : futures) {
+            CompletableFuture<Void> sentFuture = future.thenAccept(lines -> {
+                List<String> messages = new ArrayList<>(lines.size());
+
+                long chunkCost = 0L;
+
+                int chunkPricedCount = 0;
+
+                try (CommandMetrics.StageTimer ignored = this.commandMetrics.start(CommandStage.RENDER)) {
+                    for (ShoppingListLine line : lines) {
+                        PurchasePlan plan = line.plan();
+
+                        if (plan != null) {
+                            chunkCost += plan.totalCost();
+
+                            chunkPricedCount++;
+                        }
+
+                        messages.add(this.getLineMessage(line));
+                    }
+                }
+
+                synchronized (sendLock) {
+                    if (summarized.get()) {
+                        ShoppingListListener.LOGGER.warn("Dropping {} lines that were priced after the summary",
+                            messages.size());
+
+                        return;
+                    }
+
+                    totalCost.addAndGet(chunkCost);
+
+                    pricedCount.addAndGet(chunkPricedCount);
+
+                    this.sendPaginated(hook, messages);
+                }
+            });
+
+            sentFutures.add(sentFuture);
+        }
+
+        boolean complete = true;
+
+        try (CommandMetrics.StageTimer ignored = this.commandMetrics.start(CommandStage.MARKET_FETCH)) {
+            CompletableFuture.allOf(sentFutures.toArray(CompletableFuture[]::new))
+                             .get(this.commandDeadline.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+
+            complete = false;
+        } catch (ExecutionException | TimeoutException e) {
+            String message = e.getMessage();
+
+            ShoppingListListener.LOGGER.error(message, e);
+
+            complete = false;
+        }
+
+        List<String> summary = new ArrayList<>();
+
+        synchronized (sendLock) {
+            summarized.set(true);
+        }
+
+        summary.add("**Total: %,d gil** for %d of %d items%n".formatted(totalCost.get(), pricedCount.get(),
+            items.size()));
+
+        if (!complete) {
+            summary.add("*Some prices could not be fetched in time*\n");
+        }
+
+        if (!unresolvedNames.isEmpty()) {
+            summary.add("*No items were found for: %s*%n".formatted(String.join(", ", unresolvedNames)));
+        }
+
+        this.sendPaginated(hook, summary);
+    }
+
+    @Override
+    public void onSlashCommandInteraction(@NotNull SlashCommandInteractionEvent event) {
+        String commandName = event.getName();
+
+        if (!Objects.equals(commandName, ShoppingListListener.COMMAND_NAME)) {
+            return;
+        }
+
+        String itemsString = this.getOptionValue(event, ShoppingListListener.ITEMS_OPTION_NAME);
+
+        if (itemsString == null) {
+            String message = "A list of items is required";
+
+            event.getHook()
+                 .sendMessage(message)
+                 .queue();
+
+            return;
+        }
+
+        String dataCenterString = this.getOptionValue(event, ShoppingListListener.DATA_CENTER_OPTION_NAME);
+
+        DataCenter dataCenter = (dataCenterString == null) ? null : Worlds.datacenterByName(dataCenterString);
+
+        if (dataCenter == null) {
+            String message = "The specified data center is invalid";
+
+            event.getHook()
+                 .sendMessage(message)
+                 .queue();
+
+            return;
+        }
+
+        List<Entry> entries = this.parseEntries(itemsString);
+
+        if (entries.isEmpty()) {
+            String message = "No items were listed. Use a format like \"Darksteel Ore x12, Cobalt Ingot x4\"";
+
+            event.getHook()
+                 .sendMessage(message)
+                 .queue();
+
+            return;
+        } else if (entries.size() > this.maxItems) {
+            String message = "A shopping list can have at most %d items".formatted(this.maxItems);
+
+            event.getHook()
+                 .sendMessage(message)
+                 .queue();
+
+            return;
+        }
+
+        CommandContext.setDataCenterName(dataCenter.name());
+
+        List<String> unresolvedNames = new ArrayList<>();
+
+        List<ShoppingListItem> items = this.commandMetrics.record(CommandStage.SEARCH,
+            () -> this.resolve(entries, unresolvedNames));
+
+        InteractionHook hook = event.getHook();
+
+        this.respond(dataCenter, items, unresolvedNames, hook);
+    }
+}
@@ -0,0 +1,103 @@
+package com.logankulinski.metrics;
+
+import org.slf4j.MDC;
+
+import java.util.Objects;
+
+public record CommandContext(String correlationId, String commandName, String dataCenterName) {
+    private static final ThreadLocal<CommandContext> CURRENT;
+
+    private static final CommandContext NONE;
+
+    public static final String CORRELATION_ID_KEY;
+
+    public static final String COMMAND_KEY;
+
+    public static final String DATA_CENTER_KEY;
+
+    static {
+        CURRENT = new ThreadLocal<>();
+
+        NONE = new CommandContext(null, "none", "none");
+
+        CORRELATION_ID_KEY = "correlationId";
+
+        COMMAND_KEY = "command";
+
+        DATA_CENTER_KEY = "dataCenter";
+    }
+
+    public CommandContext {
+        Objects.requireNonNull(commandName);
+
+        Objects.requireNonNull(dataCenterName);
+    }
+
+    public static CommandContext current() {
+        CommandContext context = CommandContext.CURRENT.get();
+
+        return (context == null) ? CommandContext.NONE : context;
+    }
+
+    private static void install(CommandContext context) {
+        if ((context == null) || (context == CommandContext.NONE)) {
+            CommandContext.CURRENT.remove();
+
+            MDC.remove(CommandContext.CORRELATION_ID_KEY);
+
+            MDC.remove(CommandContext.COMMAND_KEY);
+
+            MDC.remove(CommandContext.DATA_CENTER_KEY);
+
+            return;
+        }
+
+        CommandContext.CURRENT.set(context);
+
+        if (context.correlationId == null) {
+            MDC.remove(CommandContext.CORRELATION_ID_KEY);
+        } else {
+            MDC.put(CommandContext.CORRELATION_ID_KEY, context.correlationId);
+        }
+
+        MDC.put(CommandContext.COMMAND_KEY, context.commandName);
+
+        MDC.put(CommandContext.DATA_CENTER_KEY, context.dataCenterName);
+    }
+
+    /*
+     * Listeners only learn the data center once they have parsed their options, so the tag is filled in on the
+     * context that the dispatcher already installed for the interaction.
+     */
+    public static void setDataCenterName(String dataCenterName) {
+        Objects.requireNonNull(dataCenterName);
+
+        CommandContext context = CommandContext.CURRENT.get();
+
+        if (context == null) {
+            return;
+        }
+
+        CommandContext.install(new CommandContext(context.correlationId, context.commandName, dataCenterName));
+    }
+
+    public void run(Runnable runnable) {
+        Objects.requireNonNull(runnable);
+
+        CommandContext previous = CommandContext.CURRENT.get();
+
+        CommandContext.install(this);
+
+        try {
+            runnable.run();
+        } finally {
+            CommandContext.install(previous);
+        }
+    }
+
+    public Runnable wrap(Runnable runnable) {
+        Objects.requireNonNull(runnable);
+
+        return () -> this.run(runnable);
+    }
+}
@@ -0,0 +1,141 @@
+package com.logankulinski.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import net.dv8tion.jda.api.requests.RestAction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+public final class CommandMetrics {
+    private final MeterRegistry meterRegistry;
+
+    private static final String STAGE_METRIC_NAME;
+
+    private static final String INTERACTION_METRIC_NAME;
+
+    private static final String SEND_FAILURE_METRIC_NAME;
+
+    private static final Logger LOGGER;
+
+    static {
+        STAGE_METRIC_NAME = "command.stage";
+
+        INTERACTION_METRIC_NAME = "command.interactions";
+
+        SEND_FAILURE_METRIC_NAME = "command.send.failures";
+
+        LOGGER = LoggerFactory.getLogger(CommandMetrics.class);
+    }
+
+    @Autowired
+    public CommandMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+    }
+
+    public final class StageTimer implements AutoCloseable {
+        private final CommandStage stage;
+
+        private final Tags tags;
+
+        private final long startTime;
+
+        private boolean stopped;
+
+        private StageTimer(CommandStage stage, Tags tags) {
+            this.stage = Objects.requireNonNull(stage);
+
+            this.tags = Objects.requireNonNull(tags);
+
+            this.startTime = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            if (this.stopped) {
+                return;
+            }
+
+            this.stopped = true;
+
+            long duration = System.nanoTime() - this.startTime;
+
+            Timer.builder(CommandMetrics.STAGE_METRIC_NAME)
+                 .description("Time spent in each stage of a command")
+                 .tags(this.tags)
+                 .register(CommandMetrics.this.meterRegistry)
+                 .record(duration, TimeUnit.NANOSECONDS);
+
+            CommandMetrics.LOGGER.debug("Stage {} took {} ms", this.stage.getTagValue(),
+                TimeUnit.NANOSECONDS.toMillis(duration));
+        }
+    }
+
+    private Tags getTags(CommandStage stage) {
+        Objects.requireNonNull(stage);
+
+        CommandContext context = CommandContext.current();
+
+        return Tags.of("command", context.commandName(), "data.center", context.dataCenterName(), "stage",
+            stage.getTagValue());
+    }
+
+    public StageTimer start(CommandStage stage) {
+        Tags tags = this.getTags(stage);
+
+        return new StageTimer(stage, tags);
+    }
+
+    public <T> T record(CommandStage stage, Supplier<T> supplier) {
+        Objects.requireNonNull(supplier);
+
+        try (StageTimer ignored = this.start(stage)) {
+            return supplier.get();
+        }
+    }
+
+    public void recordInteraction() {
+        CommandContext context = CommandContext.current();
+
+        Counter.builder(CommandMetrics.INTERACTION_METRIC_NAME)
+               .description("Interactions handled, by command")
+               .tag("command", context.commandName())
+               .register(this.meterRegistry)
+               .increment();
+    }
+
+    /*
+     * Discord sends complete on JDA's own threads, so the stage is timed until the callback fires rather than until
+     * queue() returns. The tags are captured up front because the callback thread has no command context.
+     */
+    public void queue(RestAction<?> action) {
+        Objects.requireNonNull(action);
+
+        StageTimer timer = this.start(CommandStage.DISCORD_SEND);
+
+        String commandName = CommandContext.current()
+                                           .commandName();
+
+        action.queue(result -> timer.close(), throwable -> {
+            timer.close();
+
+            Counter.builder(CommandMetrics.SEND_FAILURE_METRIC_NAME)
+                   .description("Discord messages that failed to send")
+                   .tag("command", commandName)
+                   .register(this.meterRegistry)
+                   .increment();
+
+            String message = throwable.getMessage();
+
+            CommandMetrics.LOGGER.error(message, throwable);
+        });
+    }
+}
@@ -0,0 +1,25 @@
+package com.logankulinski.metrics;
+
+public enum CommandStage {
+    SEARCH("search"),
+
+    ITEM_FETCH("item_fetch"),
+
+    RECIPE_FETCH("recipe_fetch"),
+
+    MARKET_FETCH("market_fetch"),
+
+    RENDER("render"),
+
+    DISCORD_SEND("discord_send");
+
+    private final String tagValue;
+
+    CommandStage(String tagValue) {
+        this.tagValue = tagValue;
+    }
+
+    public String getTagValue() {
+        return this.tagValue;
+    }
+}
@@ -0,0 +1,4 @@
+package com.logankulinski.model;
+
+public record CheapestListings(MarketListing normalQualityListing, MarketListing highQualityListing) {
+}
@@ -0,0 +1,4 @@
+package com.logankulinski.model;
+
+public record DataCenterPrice(String dataCenterName, CheapestListings cheapestListings) {
+}
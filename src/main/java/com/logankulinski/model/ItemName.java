@@ -0,0 +1,4 @@
+package com.logankulinski.model;
+
+public record ItemName(int id, String name) {
+}
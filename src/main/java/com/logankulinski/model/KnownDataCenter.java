@@ -0,0 +1,49 @@
+package com.logankulinski.model;
+
+import java.util.Objects;
+
+/*
+ * The data centers the bot knows by name, grouped by region. The declaration order doubles as the ordinal table of
+ * ButtonIdCodec, and buttons outlive deployments, so new data centers are only ever appended.
+ */
+public enum KnownDataCenter {
+    AETHER("Aether", Region.NORTH_AMERICA),
+
+    CRYSTAL("Crystal", Region.NORTH_AMERICA),
+
+    DYNAMIS("Dynamis", Region.NORTH_AMERICA),
+
+    PRIMAL("Primal", Region.NORTH_AMERICA),
+
+    CHAOS("Chaos", Region.EUROPE),
+
+    LIGHT("Light", Region.EUROPE),
+
+    MATERIA("Materia", Region.OCEANIA),
+
+    ELEMENTAL("Elemental", Region.JAPAN),
+
+    GAIA("Gaia", Region.JAPAN),
+
+    MANA("Mana", Region.JAPAN),
+
+    METEOR("Meteor", Region.JAPAN);
+
+    private final String name;
+
+    private final Region region;
+
+    KnownDataCenter(String name, Region region) {
+        this.name = Objects.requireNonNull(name);
+
+        this.region = Objects.requireNonNull(region);
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public Region getRegion() {
+        return this.region;
+    }
+}
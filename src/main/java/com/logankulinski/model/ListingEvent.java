@@ -0,0 +1,18 @@
+package com.logankulinski.model;
+
+import java.util.List;
+
+public record ListingEvent(
+    String event,
+
+    int itemId,
+
+    int worldId,
+
+    List<MarketListing> listings
+) {
+    @Override
+    public List<MarketListing> listings() {
+        return List.copyOf(this.listings);
+    }
+}
@@ -0,0 +1,13 @@
+package com.logankulinski.model;
+
+import java.util.List;
+import java.util.Map;
+
+public record ListingSelection(
+    CheapestListings cheapestListings,
+
+    Map<String, CheapestListings> worldListings,
+
+    List<MarketListing> topListings
+) {
+}
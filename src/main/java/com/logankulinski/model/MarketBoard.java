@@ -0,0 +1,17 @@
+package com.logankulinski.model;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+
+import java.util.List;
+
+public record MarketBoard(
+    @JsonAlias("itemID") int itemId,
+
+    long lastUploadTime,
+
+    List<MarketListing> listings
+) {
+    public MarketBoard {
+        listings = (listings == null) ? List.of() : List.copyOf(listings);
+    }
+}
@@ -0,0 +1,19 @@
+package com.logankulinski.model;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+
+import java.util.List;
+import java.util.Map;
+
+public record MarketBoards(
+    @JsonAlias("itemIDs") List<Integer> itemIds,
+
+    Map<Integer, MarketBoard> items,
+
+    List<Integer> unresolvedItems
+) {
+    @Override
+    public Map<Integer, MarketBoard> items() {
+        return Map.copyOf(this.items);
+    }
+}
@@ -0,0 +1,4 @@
+package com.logankulinski.model;
+
+public record MarketKey(String dataCenter, int itemId) {
+}
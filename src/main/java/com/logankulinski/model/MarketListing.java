@@ -0,0 +1,16 @@
+package com.logankulinski.model;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+
+public record MarketListing(
+    @JsonAlias("listingID") String listingId,
+
+    int pricePerUnit,
+
+    int quantity,
+
+    String worldName,
+
+    boolean hq
+) {
+}
@@ -0,0 +1,12 @@
+package com.logankulinski.model;
+
+import java.time.Instant;
+
+public record MarketSnapshot(
+    MarketBoard marketBoard,
+
+    ListingSelection selection,
+
+    Instant fetchedAt
+) {
+}
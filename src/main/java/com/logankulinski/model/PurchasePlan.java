@@ -0,0 +1,12 @@
+package com.logankulinski.model;
+
+import java.util.List;
+
+public record PurchasePlan(
+    int quantity,
+
+    long totalCost,
+
+    List<MarketListing> listings
+) {
+}
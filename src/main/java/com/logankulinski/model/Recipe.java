@@ -12,6 +12,8 @@ public record Recipe(
 
     String name,
 
+    int amountResult,
+
     List<Ingredient> ingredients
 ) {
     @Override
@@ -0,0 +1,44 @@
+package com.logankulinski.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+public enum Region {
+    NORTH_AMERICA("North America"),
+
+    EUROPE("Europe"),
+
+    OCEANIA("Oceania"),
+
+    JAPAN("Japan");
+
+    private final String displayName;
+
+    Region(String displayName) {
+        this.displayName = Objects.requireNonNull(displayName);
+    }
+
+    public String getDisplayName() {
+        return this.displayName;
+    }
+
+    public List<String> getDataCenterNames() {
+        return Arrays.stream(KnownDataCenter.values())
+                     .filter(dataCenter -> dataCenter.getRegion() == this)
+                     .map(KnownDataCenter::getName)
+                     .toList();
+    }
+
+    public static Region fromDisplayName(String displayName) {
+        Objects.requireNonNull(displayName);
+
+        for (Region region : Region.values()) {
+            if (region.displayName.equalsIgnoreCase(displayName)) {
+                return region;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.logankulinski.model;
+
+import java.time.Instant;
+import java.util.List;
+
+public record RegionPrices(
+    List<DataCenterPrice> dataCenterPrices,
+
+    List<WorldPrice> worldPrices,
+
+    List<String> missingDataCenterNames,
+
+    Instant fetchedAt
+) {
+}
@@ -0,0 +1,4 @@
+package com.logankulinski.model;
+
+public record ShoppingListItem(int itemId, String name, int quantity) {
+}
@@ -0,0 +1,10 @@
+package com.logankulinski.model;
+
+public record ShoppingListLine(
+    ShoppingListItem item,
+
+    PurchasePlan plan,
+
+    int availableQuantity
+) {
+}
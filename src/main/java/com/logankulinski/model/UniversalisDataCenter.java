@@ -0,0 +1,20 @@
+package com.logankulinski.model;
+
+import java.util.List;
+
+public record UniversalisDataCenter(
+    String name,
+
+    String region,
+
+    List<Integer> worlds
+) {
+    @Override
+    public List<Integer> worlds() {
+        if (this.worlds == null) {
+            return List.of();
+        }
+
+        return List.copyOf(this.worlds);
+    }
+}
@@ -0,0 +1,8 @@
+package com.logankulinski.model;
+
+public record UniversalisWorld(
+    int id,
+
+    String name
+) {
+}
@@ -0,0 +1,4 @@
+package com.logankulinski.model;
+
+public record WorldPrice(String dataCenterName, String worldName, CheapestListings cheapestListings) {
+}
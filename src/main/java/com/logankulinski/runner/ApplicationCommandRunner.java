@@ -1,5 +1,6 @@
 package com.logankulinski.runner;
 
+import com.logankulinski.model.Region;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.interactions.commands.Command;
@@ -13,6 +14,7 @@ import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -36,7 +38,9 @@ public final class ApplicationCommandRunner implements ApplicationRunner {
 
         boolean required = true;
 
-        return new OptionData(OptionType.STRING, name, description, required);
+        boolean autoComplete = true;
+
+        return new OptionData(OptionType.STRING, name, description, required, autoComplete);
     }
 
     private List<Command.Choice> getDataCenterChoices() {
@@ -75,6 +79,49 @@ public final class ApplicationCommandRunner implements ApplicationRunner {
         return option;
     }
 
+    private OptionData getRegionOption() {
+        String name = "region";
+
+        String description = "The region whose data centers will be compared";
+
+        boolean required = true;
+
+        OptionData option = new OptionData(OptionType.STRING, name, description, required);
+
+        List<Command.Choice> choices = Arrays.stream(Region.values())
+                                             .map(Region::getDisplayName)
+                                             .map(displayName -> new Command.Choice(displayName, displayName))
+                                             .toList();
+
+        option.addChoices(choices);
+
+        return option;
+    }
+
+    private OptionData getCraftsOption() {
+        String name = "crafts";
+
+        String description = "The number of times the item will be crafted";
+
+        boolean required = false;
+
+        OptionData option = new OptionData(OptionType.INTEGER, name, description, required);
+
+        option.setRequiredRange(1L, 999L);
+
+        return option;
+    }
+
+    private OptionData getSingleWorldOption() {
+        String name = "single-world";
+
+        String description = "Whether each ingredient should be bought on a single world";
+
+        boolean required = false;
+
+        return new OptionData(OptionType.BOOLEAN, name, description, required);
+    }
+
     private CommandData getItemCostCommand() {
         String name = "item-cost";
 
@@ -84,8 +131,12 @@ public final class ApplicationCommandRunner implements ApplicationRunner {
 
         OptionData dataCenterOption = this.getDataCenterOption();
 
+        OptionData craftsOption = this.getCraftsOption();
+
+        OptionData singleWorldOption = this.getSingleWorldOption();
+
         return Commands.slash(name, description)
-                       .addOptions(nameOption, dataCenterOption);
+                       .addOptions(nameOption, dataCenterOption, craftsOption, singleWorldOption);
     }
 
     private CommandData getRecipeCommand() {
@@ -101,6 +152,40 @@ public final class ApplicationCommandRunner implements ApplicationRunner {
                        .addOptions(nameOption, dataCenterOption);
     }
 
+    private CommandData getRegionPriceCommand() {
+        String name = "region-price";
+
+        String description = "Compares the price of the item across every data center in a region";
+
+        OptionData nameOption = this.getNameOption();
+
+        OptionData regionOption = this.getRegionOption();
+
+        return Commands.slash(name, description)
+                       .addOptions(nameOption, regionOption);
+    }
+
+    private CommandData getShoppingListCommand() {
+        String name = "shopping-list";
+
+        String description = "Prices a list of items, such as \"Darksteel Ore x12, Cobalt Ingot x4\"";
+
+        String itemsName = "items";
+
+        String itemsDescription = "The items to price, separated by commas, with an optional quantity like x12";
+
+        boolean required = true;
+
+        OptionData itemsOption = new OptionData(OptionType.STRING, itemsName, itemsDescription, required);
+
+        itemsOption.setMaxLength(4000);
+
+        OptionData dataCenterOption = this.getDataCenterOption();
+
+        return Commands.slash(name, description)
+                       .addOptions(itemsOption, dataCenterOption);
+    }
+
     @Override
     public void run(ApplicationArguments args) {
         Guild guild = this.discordClient.getGuildById(this.guildId);
@@ -115,8 +200,12 @@ public final class ApplicationCommandRunner implements ApplicationRunner {
 
         CommandData recipeCommand = this.getRecipeCommand();
 
+        CommandData regionPriceCommand = this.getRegionPriceCommand();
+
+        CommandData shoppingListCommand = this.getShoppingListCommand();
+
         guild.updateCommands()
-             .addCommands(itemCostCommand, recipeCommand)
+             .addCommands(itemCostCommand, recipeCommand, regionPriceCommand, shoppingListCommand)
              .queue();
     }
 }
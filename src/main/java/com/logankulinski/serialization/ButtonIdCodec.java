@@ -0,0 +1,237 @@
+package com.logankulinski.serialization;
+
+import com.logankulinski.model.ButtonMetadata;
+import com.logankulinski.model.KnownDataCenter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/*
+ * Packs button metadata into a Discord custom ID: a type prefix followed by unpadded URL-safe Base64 of
+ * [version][data center ordinal][item ID as an unsigned varint]. A data center missing from the ordinal table is
+ * written inline as a length-prefixed UTF-8 name instead. The ordinals are those of KnownDataCenter, which only ever
+ * appends data centers because buttons outlive deployments, and any layout change needs a new version. Decoding never
+ * throws; anything that is not a well-formed ID of this type decodes to null.
+ */
+public final class ButtonIdCodec {
+    private static final char RECIPE_PREFIX;
+
+    private static final int VERSION;
+
+    private static final int INLINE_NAME_MARKER;
+
+    private static final int MAX_INLINE_NAME_LENGTH;
+
+    private static final int MAX_VARINT_LENGTH;
+
+    private static final int MAX_ID_LENGTH;
+
+    private static final List<String> DATA_CENTER_NAMES;
+
+    private static final Map<String, Integer> DATA_CENTER_ORDINALS;
+
+    private static final Base64.Encoder ENCODER;
+
+    private static final byte[] DECODE_TABLE;
+
+    static {
+        RECIPE_PREFIX = 'r';
+
+        VERSION = 1;
+
+        INLINE_NAME_MARKER = 0xFF;
+
+        MAX_INLINE_NAME_LENGTH = 64;
+
+        MAX_VARINT_LENGTH = 5;
+
+        MAX_ID_LENGTH = 100;
+
+        DATA_CENTER_NAMES = Arrays.stream(KnownDataCenter.values())
+                                  .map(KnownDataCenter::getName)
+                                  .toList();
+
+        DATA_CENTER_ORDINALS = new HashMap<>();
+
+        for (int ordinal = 0; ordinal < DATA_CENTER_NAMES.size(); ordinal++) {
+            String name = DATA_CENTER_NAMES.get(ordinal);
+
+            DATA_CENTER_ORDINALS.put(name, ordinal);
+        }
+
+        ENCODER = Base64.getUrlEncoder()
+                        .withoutPadding();
+
+        DECODE_TABLE = new byte[128];
+
+        Arrays.fill(DECODE_TABLE, (byte) -1);
+
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+
+        for (int index = 0; index < alphabet.length(); index++) {
+            DECODE_TABLE[alphabet.charAt(index)] = (byte) index;
+        }
+    }
+
+    /*
+     * Returns null when the ID would not fit in a custom ID, which only happens for an inline name over 64 bytes.
+     */
+    public String encode(ButtonMetadata metadata) {
+        Objects.requireNonNull(metadata);
+
+        String dataCenterName = Objects.requireNonNull(metadata.dataCenter());
+
+        Integer ordinal = ButtonIdCodec.DATA_CENTER_ORDINALS.get(dataCenterName);
+
+        byte[] nameBytes = new byte[0];
+
+        if (ordinal == null) {
+            nameBytes = dataCenterName.getBytes(StandardCharsets.UTF_8);
+
+            if (nameBytes.length > ButtonIdCodec.MAX_INLINE_NAME_LENGTH) {
+                return null;
+            }
+        }
+
+        byte[] bytes = new byte[3 + nameBytes.length + ButtonIdCodec.MAX_VARINT_LENGTH];
+
+        int position = 0;
+
+        bytes[position++] = (byte) ButtonIdCodec.VERSION;
+
+        if (ordinal == null) {
+            bytes[position++] = (byte) ButtonIdCodec.INLINE_NAME_MARKER;
+
+            bytes[position++] = (byte) nameBytes.length;
+
+            System.arraycopy(nameBytes, 0, bytes, position, nameBytes.length);
+
+            position += nameBytes.length;
+        } else {
+            bytes[position++] = ordinal.byteValue();
+        }
+
+        long itemId = Integer.toUnsignedLong(metadata.id());
+
+        while (itemId >= 0x80L) {
+            bytes[position++] = (byte) ((itemId & 0x7FL) | 0x80L);
+
+            itemId >>>= 7;
+        }
+
+        bytes[position++] = (byte) itemId;
+
+        byte[] payload = Arrays.copyOf(bytes, position);
+
+        return ButtonIdCodec.RECIPE_PREFIX + ButtonIdCodec.ENCODER.encodeToString(payload);
+    }
+
+    private byte[] decodeBase64(String id, int start) {
+        Objects.requireNonNull(id);
+
+        int length = id.length() - start;
+
+        if ((length % 4) == 1) {
+            return null;
+        }
+
+        byte[] bytes = new byte[(length * 3) / 4];
+
+        int position = 0;
+
+        int buffer = 0;
+
+        int bitCount = 0;
+
+        for (int index = start; index < id.length(); index++) {
+            char character = id.charAt(index);
+
+            int value = (character < 128) ? ButtonIdCodec.DECODE_TABLE[character] : -1;
+
+            if (value < 0) {
+                return null;
+            }
+
+            buffer = (buffer << 6) | value;
+
+            bitCount += 6;
+
+            if (bitCount >= 8) {
+                bitCount -= 8;
+
+                bytes[position++] = (byte) (buffer >> bitCount);
+            }
+        }
+
+        return bytes;
+    }
+
+    public ButtonMetadata decode(String id) {
+        if ((id == null) || (id.length() < 2) || (id.length() > ButtonIdCodec.MAX_ID_LENGTH)) {
+            return null;
+        }
+
+        if (id.charAt(0) != ButtonIdCodec.RECIPE_PREFIX) {
+            return null;
+        }
+
+        byte[] bytes = this.decodeBase64(id, 1);
+
+        if ((bytes == null) || (bytes.length < 3) || (bytes[0] != ButtonIdCodec.VERSION)) {
+            return null;
+        }
+
+        int position = 1;
+
+        int ordinal = bytes[position++] & 0xFF;
+
+        String dataCenterName;
+
+        if (ordinal == ButtonIdCodec.INLINE_NAME_MARKER) {
+            int nameLength = bytes[position++] & 0xFF;
+
+            if ((nameLength == 0) || ((position + nameLength) >= bytes.length)) {
+                return null;
+            }
+
+            dataCenterName = new String(bytes, position, nameLength, StandardCharsets.UTF_8);
+
+            position += nameLength;
+        } else if (ordinal < ButtonIdCodec.DATA_CENTER_NAMES.size()) {
+            dataCenterName = ButtonIdCodec.DATA_CENTER_NAMES.get(ordinal);
+        } else {
+            return null;
+        }
+
+        long itemId = 0L;
+
+        int shift = 0;
+
+        while (true) {
+            if ((position == bytes.length) || (shift == (ButtonIdCodec.MAX_VARINT_LENGTH * 7))) {
+                return null;
+            }
+
+            int value = bytes[position++] & 0xFF;
+
+            itemId |= (long) (value & 0x7F) << shift;
+
+            shift += 7;
+
+            if ((value & 0x80) == 0) {
+                break;
+            }
+        }
+
+        if ((position != bytes.length) || (itemId > 0xFFFFFFFFL)) {
+            return null;
+        }
+
+        return new ButtonMetadata(dataCenterName, (int) itemId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.logankulinski.serialization;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public interface CatalogCodec<T> {
+    void encode(T value, DataOutput output) throws IOException;
+
+    T decode(DataInput input) throws IOException;
+}
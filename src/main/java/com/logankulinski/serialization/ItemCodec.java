@@ -0,0 +1,60 @@
+package com.logankulinski.serialization;
+
+import com.logankulinski.model.Item;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public final class ItemCodec implements CatalogCodec<Item> {
+    @Override
+    public void encode(Item item, DataOutput output) throws IOException {
+        Objects.requireNonNull(item);
+
+        Objects.requireNonNull(output);
+
+        output.writeInt(item.id());
+
+        output.writeUTF(Objects.requireNonNullElse(item.name(), ""));
+
+        List<Item.Recipe> recipes = item.recipes();
+
+        output.writeShort(recipes.size());
+
+        for (Item.Recipe recipe : recipes) {
+            output.writeInt(recipe.id());
+
+            output.writeShort(recipe.level());
+
+            output.writeShort(recipe.classJobId());
+        }
+    }
+
+    @Override
+    public Item decode(DataInput input) throws IOException {
+        Objects.requireNonNull(input);
+
+        int id = input.readInt();
+
+        String name = input.readUTF();
+
+        int recipeCount = input.readUnsignedShort();
+
+        List<Item.Recipe> recipes = new ArrayList<>(recipeCount);
+
+        for (int i = 0; i < recipeCount; i++) {
+            int recipeId = input.readInt();
+
+            int level = input.readUnsignedShort();
+
+            int classJobId = input.readUnsignedShort();
+
+            recipes.add(new Item.Recipe(recipeId, level, classJobId));
+        }
+
+        return new Item(id, name, recipes);
+    }
+}
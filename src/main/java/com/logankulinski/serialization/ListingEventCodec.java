@@ -0,0 +1,145 @@
+package com.logankulinski.serialization;
+
+import com.logankulinski.model.ListingEvent;
+import com.logankulinski.model.MarketListing;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public final class ListingEventCodec {
+    private static final String EVENT_FIELD_NAME;
+
+    private static final String CHANNEL_FIELD_NAME;
+
+    private static final String ITEM_FIELD_NAME;
+
+    private static final String WORLD_FIELD_NAME;
+
+    private static final String LISTINGS_FIELD_NAME;
+
+    static {
+        EVENT_FIELD_NAME = "event";
+
+        CHANNEL_FIELD_NAME = "channel";
+
+        ITEM_FIELD_NAME = "item";
+
+        WORLD_FIELD_NAME = "world";
+
+        LISTINGS_FIELD_NAME = "listings";
+    }
+
+    private int getInt(BsonDocument document, String key, int defaultValue) {
+        Objects.requireNonNull(document);
+
+        Objects.requireNonNull(key);
+
+        BsonValue value = document.get(key);
+
+        if ((value == null) || !value.isNumber()) {
+            return defaultValue;
+        }
+
+        return value.asNumber()
+                    .intValue();
+    }
+
+    private String getString(BsonDocument document, String key) {
+        Objects.requireNonNull(document);
+
+        Objects.requireNonNull(key);
+
+        BsonValue value = document.get(key);
+
+        if ((value == null) || !value.isString()) {
+            return null;
+        }
+
+        return value.asString()
+                    .getValue();
+    }
+
+    private MarketListing getListing(BsonDocument document) {
+        Objects.requireNonNull(document);
+
+        String listingId = this.getString(document, "listingID");
+
+        int pricePerUnit = this.getInt(document, "pricePerUnit", 0);
+
+        int quantity = this.getInt(document, "quantity", 0);
+
+        String worldName = this.getString(document, "worldName");
+
+        BsonValue hqValue = document.get("hq");
+
+        boolean hq = (hqValue != null) && hqValue.isBoolean() && hqValue.asBoolean()
+                                                                        .getValue();
+
+        return new MarketListing(listingId, pricePerUnit, quantity, worldName, hq);
+    }
+
+    public ListingEvent decode(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer);
+
+        byte[] bytes = new byte[buffer.remaining()];
+
+        buffer.get(bytes);
+
+        BsonDocument document = new RawBsonDocument(bytes);
+
+        String event = this.getString(document, ListingEventCodec.EVENT_FIELD_NAME);
+
+        int itemId = this.getInt(document, ListingEventCodec.ITEM_FIELD_NAME, -1);
+
+        int worldId = this.getInt(document, ListingEventCodec.WORLD_FIELD_NAME, -1);
+
+        List<MarketListing> listings = new ArrayList<>();
+
+        BsonValue listingsValue = document.get(ListingEventCodec.LISTINGS_FIELD_NAME);
+
+        if ((listingsValue != null) && listingsValue.isArray()) {
+            BsonArray listingsArray = listingsValue.asArray();
+
+            for (BsonValue listingValue : listingsArray) {
+                if (!listingValue.isDocument()) {
+                    continue;
+                }
+
+                MarketListing listing = this.getListing(listingValue.asDocument());
+
+                listings.add(listing);
+            }
+        }
+
+        return new ListingEvent(event, itemId, worldId, listings);
+    }
+
+    public ByteBuffer encodeSubscription(String channel) {
+        Objects.requireNonNull(channel);
+
+        BsonDocument document = new BsonDocument();
+
+        document.put(ListingEventCodec.EVENT_FIELD_NAME, new BsonString("subscribe"));
+
+        document.put(ListingEventCodec.CHANNEL_FIELD_NAME, new BsonString(channel));
+
+        RawBsonDocument rawDocument = new RawBsonDocument(document, new BsonDocumentCodec());
+
+        ByteBuffer buffer = rawDocument.getByteBuffer()
+                                       .asNIO();
+
+        byte[] bytes = new byte[buffer.remaining()];
+
+        buffer.get(bytes);
+
+        return ByteBuffer.wrap(bytes);
+    }
+}
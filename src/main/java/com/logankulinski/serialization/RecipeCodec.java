@@ -0,0 +1,68 @@
+package com.logankulinski.serialization;
+
+import com.logankulinski.model.Ingredient;
+import com.logankulinski.model.Recipe;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public final class RecipeCodec implements CatalogCodec<Recipe> {
+    @Override
+    public void encode(Recipe recipe, DataOutput output) throws IOException {
+        Objects.requireNonNull(recipe);
+
+        Objects.requireNonNull(output);
+
+        output.writeInt(recipe.id());
+
+        output.writeUTF(Objects.requireNonNullElse(recipe.name(), ""));
+
+        output.writeShort(recipe.amountResult());
+
+        List<Ingredient> ingredients = recipe.ingredients()
+                                             .stream()
+                                             .filter(Objects::nonNull)
+                                             .toList();
+
+        output.writeByte(ingredients.size());
+
+        for (Ingredient ingredient : ingredients) {
+            output.writeInt(ingredient.id());
+
+            output.writeUTF(Objects.requireNonNullElse(ingredient.name(), ""));
+
+            output.writeShort(ingredient.amount());
+        }
+    }
+
+    @Override
+    public Recipe decode(DataInput input) throws IOException {
+        Objects.requireNonNull(input);
+
+        int id = input.readInt();
+
+        String name = input.readUTF();
+
+        int amountResult = input.readUnsignedShort();
+
+        int ingredientCount = input.readUnsignedByte();
+
+        List<Ingredient> ingredients = new ArrayList<>(ingredientCount);
+
+        for (int i = 0; i < ingredientCount; i++) {
+            int ingredientId = input.readInt();
+
+            String ingredientName = input.readUTF();
+
+            int amount = input.readUnsignedShort();
+
+            ingredients.add(new Ingredient(ingredientId, ingredientName, amount));
+        }
+
+        return new Recipe(id, name, amountResult, ingredients);
+    }
+}
@@ -2,23 +2,63 @@ package com.logankulinski.serialization;
 
 import com.fasterxml.jackson.core.JacksonException;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.logankulinski.model.Ingredient;
 import com.logankulinski.model.Recipe;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public final class RecipeDeserializer extends StdDeserializer<Recipe> {
     private static final int MAX_INGREDIENTS;
 
+    private static final String ID_FIELD_NAME;
+
+    private static final String NAME_FIELD_NAME;
+
+    private static final String AMOUNT_RESULT_FIELD_NAME;
+
+    private static final String[] INGREDIENT_FIELD_NAMES;
+
+    private static final String[] AMOUNT_FIELD_NAMES;
+
+    private static final Map<String, Integer> INGREDIENT_INDEXES;
+
+    private static final Map<String, Integer> AMOUNT_INDEXES;
+
     static {
         MAX_INGREDIENTS = 9;
+
+        ID_FIELD_NAME = "ID";
+
+        NAME_FIELD_NAME = "Name";
+
+        AMOUNT_RESULT_FIELD_NAME = "AmountResult";
+
+        INGREDIENT_FIELD_NAMES = new String[MAX_INGREDIENTS + 1];
+
+        AMOUNT_FIELD_NAMES = new String[MAX_INGREDIENTS + 1];
+
+        INGREDIENT_INDEXES = new HashMap<>();
+
+        AMOUNT_INDEXES = new HashMap<>();
+
+        for (int i = 0; i <= MAX_INGREDIENTS; i++) {
+            INGREDIENT_FIELD_NAMES[i] = "ItemIngredient%d".formatted(i);
+
+            AMOUNT_FIELD_NAMES[i] = "AmountIngredient%d".formatted(i);
+
+            INGREDIENT_INDEXES.put(INGREDIENT_FIELD_NAMES[i], i);
+
+            AMOUNT_INDEXES.put(AMOUNT_FIELD_NAMES[i], i);
+        }
     }
 
     public RecipeDeserializer(Class<?> vc) {
@@ -29,65 +69,77 @@ public final class RecipeDeserializer extends StdDeserializer<Recipe> {
         this(null);
     }
 
-    public Ingredient getIngredient(JsonParser parser, JsonNode node, int index) throws JsonMappingException {
-        Objects.requireNonNull(parser);
+    private record IngredientFields(int id, String name) {
+    }
 
-        Objects.requireNonNull(node);
+    public static List<String> getColumns() {
+        List<String> columns = new ArrayList<>();
 
-        if ((index < 0) || (index > RecipeDeserializer.MAX_INGREDIENTS)) {
-            String message = "%d is not a valid index".formatted(index);
+        columns.add(RecipeDeserializer.ID_FIELD_NAME);
 
-            throw new IllegalArgumentException(message);
-        }
+        columns.add(RecipeDeserializer.NAME_FIELD_NAME);
 
-        String ingredientKey = "ItemIngredient%d".formatted(index);
+        columns.add(RecipeDeserializer.AMOUNT_RESULT_FIELD_NAME);
 
-        if (!node.has(ingredientKey)) {
-            String message = "Failed to deserialize the ingredient at index %d".formatted(index);
+        for (int i = 0; i <= RecipeDeserializer.MAX_INGREDIENTS; i++) {
+            String ingredientFieldName = RecipeDeserializer.INGREDIENT_FIELD_NAMES[i];
 
-            throw new JsonMappingException(parser, message);
+            columns.add("%s.%s".formatted(ingredientFieldName, RecipeDeserializer.ID_FIELD_NAME));
+
+            columns.add("%s.%s".formatted(ingredientFieldName, RecipeDeserializer.NAME_FIELD_NAME));
+
+            columns.add(RecipeDeserializer.AMOUNT_FIELD_NAMES[i]);
         }
 
-        JsonNode ingredientNode = node.get(ingredientKey);
+        return List.copyOf(columns);
+    }
+
+    private IngredientFields readIngredient(JsonParser parser, int index) throws IOException {
+        Objects.requireNonNull(parser);
 
-        if (ingredientNode.isNull()) {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
             return null;
         }
 
-        String idKey = "ID";
-
-        if (!ingredientNode.has(idKey)) {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
             String message = "Failed to deserialize the ingredient at index %d".formatted(index);
 
             throw new JsonMappingException(parser, message);
         }
 
-        int id = ingredientNode.get(idKey)
-                               .asInt();
+        Integer id = null;
 
-        String nameKey = "Name";
+        String name = null;
 
-        if (!ingredientNode.has(nameKey)) {
-            String message = "Failed to deserialize the ingredient at index %d".formatted(index);
+        boolean idPresent = false;
 
-            throw new JsonMappingException(parser, message);
-        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+
+            parser.nextToken();
+
+            if (Objects.equals(fieldName, RecipeDeserializer.ID_FIELD_NAME)) {
+                idPresent = true;
 
-        String name = ingredientNode.get(nameKey)
-                                    .asText();
+                id = (parser.currentToken() == JsonToken.VALUE_NULL) ? null : parser.getValueAsInt();
+            } else if (Objects.equals(fieldName, RecipeDeserializer.NAME_FIELD_NAME)) {
+                name = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
 
-        String amountKey = "AmountIngredient%d".formatted(index);
+        if (idPresent && (id == null)) {
+            return null;
+        }
 
-        if (!node.has(amountKey)) {
+        if ((id == null) || (name == null)) {
             String message = "Failed to deserialize the ingredient at index %d".formatted(index);
 
             throw new JsonMappingException(parser, message);
         }
 
-        int amount = node.get(amountKey)
-                         .asInt();
-
-        return new Ingredient(id, name, amount);
+        return new IngredientFields(id, name);
     }
 
     @Override
@@ -96,41 +148,82 @@ public final class RecipeDeserializer extends StdDeserializer<Recipe> {
 
         Objects.requireNonNull(context);
 
-        JsonNode node = parser.getCodec()
-                              .readTree(parser);
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            parser.nextToken();
+        }
 
-        JsonNode idNode = node.get("ID");
+        Integer id = null;
 
-        if (idNode == null) {
-            String message = "Failed to deserialize the recipe";
+        String name = null;
 
-            throw new JsonMappingException(parser, message);
-        }
+        int amountResult = 1;
+
+        IngredientFields[] ingredientFields = new IngredientFields[RecipeDeserializer.MAX_INGREDIENTS + 1];
+
+        boolean[] ingredientsPresent = new boolean[RecipeDeserializer.MAX_INGREDIENTS + 1];
+
+        int[] amounts = new int[RecipeDeserializer.MAX_INGREDIENTS + 1];
 
-        int id = idNode.asInt();
+        boolean[] amountsPresent = new boolean[RecipeDeserializer.MAX_INGREDIENTS + 1];
 
-        JsonNode nameNode = node.get("Name");
+        for (; parser.currentToken() == JsonToken.FIELD_NAME; parser.nextToken()) {
+            String fieldName = parser.currentName();
 
-        if (nameNode == null) {
+            parser.nextToken();
+
+            Integer ingredientIndex = RecipeDeserializer.INGREDIENT_INDEXES.get(fieldName);
+
+            Integer amountIndex = RecipeDeserializer.AMOUNT_INDEXES.get(fieldName);
+
+            if (Objects.equals(fieldName, RecipeDeserializer.ID_FIELD_NAME)) {
+                id = parser.getValueAsInt();
+            } else if (Objects.equals(fieldName, RecipeDeserializer.NAME_FIELD_NAME)) {
+                name = parser.getValueAsString();
+            } else if (Objects.equals(fieldName, RecipeDeserializer.AMOUNT_RESULT_FIELD_NAME)) {
+                amountResult = parser.getValueAsInt(1);
+            } else if (ingredientIndex != null) {
+                ingredientFields[ingredientIndex] = this.readIngredient(parser, ingredientIndex);
+
+                ingredientsPresent[ingredientIndex] = true;
+            } else if (amountIndex != null) {
+                amounts[amountIndex] = parser.getValueAsInt();
+
+                amountsPresent[amountIndex] = true;
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if ((id == null) || (name == null)) {
             String message = "Failed to deserialize the recipe";
 
             throw new JsonMappingException(parser, message);
         }
 
-        String name = nameNode.asText();
-
         List<Ingredient> ingredients = new ArrayList<>();
 
         for (int i = 0; i <= RecipeDeserializer.MAX_INGREDIENTS; i++) {
-            Ingredient ingredient = this.getIngredient(parser, node, i);
+            if (!ingredientsPresent[i]) {
+                String message = "Failed to deserialize the ingredient at index %d".formatted(i);
+
+                throw new JsonMappingException(parser, message);
+            }
+
+            IngredientFields ingredient = ingredientFields[i];
 
             if (ingredient == null) {
                 continue;
             }
 
-            ingredients.add(ingredient);
+            if (!amountsPresent[i]) {
+                String message = "Failed to deserialize the ingredient at index %d".formatted(i);
+
+                throw new JsonMappingException(parser, message);
+            }
+
+            ingredients.add(new Ingredient(ingredient.id(), ingredient.name(), amounts[i]));
         }
 
-        return new Recipe(id, name, ingredients);
+        return new Recipe(id, name, amountResult, ingredients);
     }
 }
@@ -0,0 +1,421 @@
+package com.logankulinski.service;
+
+import com.logankulinski.client.XIVAPIClient;
+import com.logankulinski.metrics.CommandMetrics;
+import com.logankulinski.metrics.CommandStage;
+import com.logankulinski.model.Ingredient;
+import com.logankulinski.model.Item;
+import com.logankulinski.model.MarketListing;
+import com.logankulinski.model.PurchasePlan;
+import com.logankulinski.model.Recipe;
+import de.chojo.universalis.worlds.DataCenter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntFunction;
+
+@Service
+public final class CraftingCostEngine {
+    private final XIVAPIClient xivapiClient;
+
+    private final IngredientPricingService pricingService;
+
+    private final Duration commandDeadline;
+
+    private final int maxInFlight;
+
+    private final CommandMetrics commandMetrics;
+
+    private static final int MAX_DEPTH;
+
+    private static final Logger LOGGER;
+
+    static {
+        MAX_DEPTH = 8;
+
+        LOGGER = LoggerFactory.getLogger(CraftingCostEngine.class);
+    }
+
+    @Autowired
+    public CraftingCostEngine(XIVAPIClient xivapiClient, IngredientPricingService pricingService,
+        @Value("${commands.deadline}") Duration commandDeadline,
+        @Value("${commands.crafting-cost.max-in-flight}") int maxInFlight, CommandMetrics commandMetrics) {
+        if (maxInFlight < 1) {
+            String message = "%d is not a valid in-flight limit".formatted(maxInFlight);
+
+            throw new IllegalArgumentException(message);
+        }
+
+        this.xivapiClient = Objects.requireNonNull(xivapiClient);
+
+        this.pricingService = Objects.requireNonNull(pricingService);
+
+        this.commandDeadline = Objects.requireNonNull(commandDeadline);
+
+        this.maxInFlight = maxInFlight;
+
+        this.commandMetrics = Objects.requireNonNull(commandMetrics);
+    }
+
+    /*
+     * The futures come straight from the client's cache and may be shared with other commands, so a timeout leaves
+     * them running rather than cancelling them; whatever finishes late still warms the cache. A lookup that fails is
+     * logged and left out of the results, so the caller prices that node as a leaf instead of failing the whole tree.
+     * At most maxInFlight lookups are outstanding at once, so one wide tree cannot fill the outbound scheduler's queue
+     * and have the lookups of other commands turned away.
+     */
+    private <T> Map<Integer, T> fetchAll(Collection<Integer> ids, IntFunction<CompletableFuture<T>> fetcher,
+        long deadline) throws InterruptedException, ExecutionException, TimeoutException {
+        Objects.requireNonNull(ids);
+
+        Objects.requireNonNull(fetcher);
+
+        Map<Integer, CompletableFuture<T>> futures = new HashMap<>();
+
+        Semaphore permits = new Semaphore(this.maxInFlight);
+
+        for (int id : ids) {
+            if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw new TimeoutException("Timed out waiting to issue lookup %d".formatted(id));
+            }
+
+            CompletableFuture<T> future = fetcher.apply(id);
+
+            future.whenComplete((result, throwable) -> permits.release());
+
+            futures.put(id, future);
+        }
+
+        CompletableFuture.allOf(futures.values()
+                                       .toArray(CompletableFuture[]::new))
+                         .exceptionally(throwable -> null)
+                         .get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+
+        Map<Integer, T> results = new HashMap<>();
+
+        futures.forEach((id, future) -> {
+            if (future.isCompletedExceptionally()) {
+                Throwable cause = future.exceptionNow();
+
+                CraftingCostEngine.LOGGER.warn("Lookup {} failed, so it will not be expanded", id, cause);
+
+                return;
+            }
+
+            T result = future.join();
+
+            if (result != null) {
+                results.put(id, result);
+            }
+        });
+
+        return results;
+    }
+
+    private Map<Integer, List<Recipe>> expand(int itemId, Set<Integer> itemIds, long deadline)
+        throws InterruptedException, ExecutionException, TimeoutException {
+        Objects.requireNonNull(itemIds);
+
+        Map<Integer, List<Recipe>> recipesByItemId = new HashMap<>();
+
+        /*
+         * Only the root item has to be found; the first pass below picks it up from the cache.
+         */
+        try (CommandMetrics.StageTimer ignored = this.commandMetrics.start(CommandStage.ITEM_FETCH)) {
+            this.xivapiClient.getItemAsync(itemId)
+                             .get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        itemIds.add(itemId);
+
+        Set<Integer> frontier = Set.of(itemId);
+
+        for (int depth = 0; !frontier.isEmpty() && (depth < CraftingCostEngine.MAX_DEPTH); depth++) {
+            Map<Integer, Item> items;
+
+            try (CommandMetrics.StageTimer ignored = this.commandMetrics.start(CommandStage.ITEM_FETCH)) {
+                items = this.fetchAll(frontier, this.xivapiClient::getItemAsync, deadline);
+            }
+
+            Set<Integer> recipeIds = new HashSet<>();
+
+            items.values()
+                 .forEach(item -> item.recipes()
+                                      .forEach(recipe -> recipeIds.add(recipe.id())));
+
+            Map<Integer, Recipe> recipes;
+
+            try (CommandMetrics.StageTimer ignored = this.commandMetrics.start(CommandStage.RECIPE_FETCH)) {
+                recipes = this.fetchAll(recipeIds, this.xivapiClient::getRecipeAsync, deadline);
+            }
+
+            Set<Integer> nextFrontier = new HashSet<>();
+
+            items.forEach((id, item) -> {
+                List<Recipe> itemRecipes = item.recipes()
+                                               .stream()
+                                               .map(recipe -> recipes.get(recipe.id()))
+                                               .filter(Objects::nonNull)
+                                               .toList();
+
+                recipesByItemId.put(id, itemRecipes);
+
+                itemRecipes.stream()
+                           .map(Recipe::ingredients)
+                           .flatMap(List::stream)
+                           .filter(Objects::nonNull)
+                           .map(Ingredient::id)
+                           .filter(itemIds::add)
+                           .forEach(nextFrontier::add);
+            });
+
+            frontier = nextFrontier;
+        }
+
+        if (!frontier.isEmpty()) {
+            CraftingCostEngine.LOGGER.warn("Stopped expanding item {} at depth {}, so {} deeper items are priced as " +
+                "buy-only", itemId, CraftingCostEngine.MAX_DEPTH, frontier.size());
+        }
+
+        return recipesByItemId;
+    }
+
+    private record CostKey(int itemId, int quantity) {
+    }
+
+    private static final class CostCalculator {
+        private final Map<Integer, List<Recipe>> recipesByItemId;
+
+        private final Map<Integer, List<MarketListing>> listings;
+
+        private final boolean singleWorld;
+
+        private final Map<CostKey, Long> costs;
+
+        private final Map<Integer, Integer> inProgress;
+
+        private int cycleDepth;
+
+        CostCalculator(Map<Integer, List<Recipe>> recipesByItemId, Map<Integer, List<MarketListing>> listings,
+            boolean singleWorld) {
+            this.recipesByItemId = Objects.requireNonNull(recipesByItemId);
+
+            this.listings = Objects.requireNonNull(listings);
+
+            this.singleWorld = singleWorld;
+
+            this.costs = new HashMap<>();
+
+            this.inProgress = new HashMap<>();
+
+            this.cycleDepth = Integer.MAX_VALUE;
+        }
+
+        private Long getPurchaseCost(int itemId, int quantity) {
+            List<MarketListing> itemListings = this.listings.get(itemId);
+
+            if (itemListings == null) {
+                return null;
+            }
+
+            PurchasePlan plan;
+
+            if (this.singleWorld) {
+                plan = PurchasePlanner.planSingleWorld(itemListings, quantity);
+            } else {
+                plan = PurchasePlanner.plan(itemListings, quantity);
+            }
+
+            if (plan == null) {
+                return null;
+            }
+
+            return plan.totalCost();
+        }
+
+        /*
+         * A quantity or cost too large to represent cannot be bought anyway, so an overflow means the recipe cannot be
+         * priced rather than an error.
+         */
+        private Long getRecipeCost(Recipe recipe, int craftCount) {
+            Objects.requireNonNull(recipe);
+
+            long cost = 0L;
+
+            for (Ingredient ingredient : recipe.ingredients()) {
+                if ((ingredient == null) || (ingredient.amount() <= 0)) {
+                    continue;
+                }
+
+                int quantity;
+
+                try {
+                    quantity = Math.multiplyExact(ingredient.amount(), craftCount);
+                } catch (ArithmeticException e) {
+                    return null;
+                }
+
+                Long ingredientCost = this.getCost(ingredient.id(), quantity);
+
+                if (ingredientCost == null) {
+                    return null;
+                }
+
+                try {
+                    cost = Math.addExact(cost, ingredientCost);
+                } catch (ArithmeticException e) {
+                    return null;
+                }
+            }
+
+            return cost;
+        }
+
+        private Long getCraftingCost(int itemId, int quantity) {
+            List<Recipe> recipes = this.recipesByItemId.getOrDefault(itemId, List.of());
+
+            Long cheapestCost = null;
+
+            for (Recipe recipe : recipes) {
+                int craftCount = Math.ceilDiv(quantity, Math.max(1, recipe.amountResult()));
+
+                Long cost = this.getRecipeCost(recipe, craftCount);
+
+                if ((cost != null) && ((cheapestCost == null) || (cost < cheapestCost))) {
+                    cheapestCost = cost;
+                }
+            }
+
+            return cheapestCost;
+        }
+
+        private Long getCost(int itemId, int quantity) {
+            CostKey key = new CostKey(itemId, quantity);
+
+            if (this.costs.containsKey(key)) {
+                return this.costs.get(key);
+            }
+
+            Long purchaseCost = this.getPurchaseCost(itemId, quantity);
+
+            Integer ancestorDepth = this.inProgress.get(itemId);
+
+            if (ancestorDepth != null) {
+                this.cycleDepth = Math.min(this.cycleDepth, ancestorDepth);
+
+                return purchaseCost;
+            }
+
+            int depth = this.inProgress.size();
+
+            int outerCycleDepth = this.cycleDepth;
+
+            this.cycleDepth = Integer.MAX_VALUE;
+
+            this.inProgress.put(itemId, depth);
+
+            Long craftingCost = this.getCraftingCost(itemId, quantity);
+
+            this.inProgress.remove(itemId);
+
+            int subtreeCycleDepth = this.cycleDepth;
+
+            this.cycleDepth = Math.min(outerCycleDepth, subtreeCycleDepth);
+
+            Long cost;
+
+            if (purchaseCost == null) {
+                cost = craftingCost;
+            } else if (craftingCost == null) {
+                cost = purchaseCost;
+            } else {
+                cost = Math.min(purchaseCost, craftingCost);
+            }
+
+            /*
+             * A subtree that cut a cycle at one of this item's ancestors left out a crafting path that is only excluded
+             * below that ancestor, so its cost is not reusable anywhere else.
+             */
+            if (subtreeCycleDepth >= depth) {
+                this.costs.put(key, cost);
+            }
+
+            return cost;
+        }
+
+        Long getIngredientCost(int itemId, int craftCount) {
+            List<Recipe> recipes = this.recipesByItemId.getOrDefault(itemId, List.of());
+
+            this.inProgress.put(itemId, this.inProgress.size());
+
+            Long cheapestCost = null;
+
+            for (Recipe recipe : recipes) {
+                Long cost = this.getRecipeCost(recipe, craftCount);
+
+                if ((cost != null) && ((cheapestCost == null) || (cost < cheapestCost))) {
+                    cheapestCost = cost;
+                }
+            }
+
+            this.inProgress.remove(itemId);
+
+            return cheapestCost;
+        }
+    }
+
+    public Long getCheapestCraftingCost(DataCenter dataCenter, int itemId, int craftCount, boolean singleWorld) {
+        Objects.requireNonNull(dataCenter);
+
+        if (craftCount <= 0) {
+            throw new IllegalArgumentException("craftCount must be positive");
+        }
+
+        long deadline = System.nanoTime() + this.commandDeadline.toNanos();
+
+        Set<Integer> itemIds = new HashSet<>();
+
+        Map<Integer, List<Recipe>> recipesByItemId;
+
+        Map<Integer, List<MarketListing>> listings;
+
+        try {
+            recipesByItemId = this.expand(itemId, itemIds, deadline);
+
+            try (CommandMetrics.StageTimer ignored = this.commandMetrics.start(CommandStage.MARKET_FETCH)) {
+                listings = this.pricingService.getListingsAsync(dataCenter, itemIds)
+                                              .get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            String message = e.getMessage();
+
+            CraftingCostEngine.LOGGER.error(message, e);
+
+            return null;
+        }
+
+        CostCalculator calculator = new CostCalculator(recipesByItemId, listings, singleWorld);
+
+        return calculator.getIngredientCost(itemId, craftCount);
+    }
+
+    public Long getCheapestCraftingCost(DataCenter dataCenter, int itemId) {
+        return this.getCheapestCraftingCost(dataCenter, itemId, 1, false);
+    }
+}
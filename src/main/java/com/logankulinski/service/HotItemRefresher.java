@@ -0,0 +1,103 @@
+package com.logankulinski.service;
+
+import com.logankulinski.model.MarketKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Component
+public final class HotItemRefresher {
+    private final HotItemTracker hotItemTracker;
+
+    private final MarketSnapshotCache snapshotCache;
+
+    private final int topItems;
+
+    private final int maxRequestsPerCycle;
+
+    private final Duration interval;
+
+    private static final Logger LOGGER;
+
+    static {
+        LOGGER = LoggerFactory.getLogger(HotItemRefresher.class);
+    }
+
+    @Autowired
+    public HotItemRefresher(HotItemTracker hotItemTracker, MarketSnapshotCache snapshotCache,
+        @Value("${universalis.prefetch.top-items}") int topItems,
+        @Value("${universalis.prefetch.max-requests-per-cycle}") int maxRequestsPerCycle,
+        @Value("${universalis.prefetch.interval}") Duration interval) {
+        this.hotItemTracker = Objects.requireNonNull(hotItemTracker);
+
+        this.snapshotCache = Objects.requireNonNull(snapshotCache);
+
+        this.topItems = topItems;
+
+        this.maxRequestsPerCycle = maxRequestsPerCycle;
+
+        this.interval = Objects.requireNonNull(interval);
+    }
+
+    public Duration getInterval() {
+        return this.interval;
+    }
+
+    public void refresh() {
+        List<MarketKey> hottestKeys = this.hotItemTracker.getHottest(this.topItems);
+
+        Map<String, Integer> itemCounts = new HashMap<>();
+
+        int requestCount = 0;
+
+        List<MarketKey> keys = new ArrayList<>();
+
+        for (MarketKey key : hottestKeys) {
+            if (!this.snapshotCache.needsRefresh(key, this.interval)) {
+                continue;
+            }
+
+            int itemCount = itemCounts.getOrDefault(key.dataCenter(), 0);
+
+            boolean newRequest = (itemCount % MarketSnapshotCache.MAX_ITEMS_PER_REQUEST) == 0;
+
+            if (newRequest && (requestCount >= this.maxRequestsPerCycle)) {
+                continue;
+            }
+
+            if (newRequest) {
+                requestCount++;
+            }
+
+            itemCounts.put(key.dataCenter(), itemCount + 1);
+
+            keys.add(key);
+        }
+
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        this.snapshotCache.prefetch(keys)
+                          .whenComplete((count, throwable) -> {
+                              if (throwable != null) {
+                                  String message = throwable.getMessage();
+
+                                  HotItemRefresher.LOGGER.error(message, throwable);
+
+                                  return;
+                              }
+
+                              HotItemRefresher.LOGGER.debug("Prefetched {} market snapshots", count);
+                          });
+    }
+}
@@ -0,0 +1,156 @@
+package com.logankulinski.service;
+
+import com.logankulinski.model.MarketKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Component
+public final class HotItemTracker {
+    private final long[][] counters;
+
+    private final int mask;
+
+    private final int capacity;
+
+    private final long halfLifeNanos;
+
+    private final Map<MarketKey, Long> candidates;
+
+    private long lastDecayTime;
+
+    private static final int DEPTH;
+
+    private static final int[] SEEDS;
+
+    static {
+        DEPTH = 4;
+
+        SEEDS = new int[] {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+    }
+
+    @Autowired
+    public HotItemTracker(@Value("${universalis.prefetch.sketch-width}") int sketchWidth,
+        @Value("${universalis.prefetch.top-items}") int topItems,
+        @Value("${universalis.prefetch.half-life}") Duration halfLife) {
+        Objects.requireNonNull(halfLife);
+
+        if ((sketchWidth <= 0) || (Integer.bitCount(sketchWidth) != 1)) {
+            String message = "%d is not a valid sketch width".formatted(sketchWidth);
+
+            throw new IllegalArgumentException(message);
+        }
+
+        this.counters = new long[HotItemTracker.DEPTH][sketchWidth];
+
+        this.mask = sketchWidth - 1;
+
+        this.capacity = Math.max(1, topItems * 2);
+
+        this.halfLifeNanos = halfLife.toNanos();
+
+        this.candidates = new HashMap<>();
+
+        this.lastDecayTime = System.nanoTime();
+    }
+
+    private int getIndex(int hash, int row) {
+        int mixed = hash * HotItemTracker.SEEDS[row];
+
+        mixed ^= mixed >>> 16;
+
+        return mixed & this.mask;
+    }
+
+    private long increment(MarketKey key) {
+        int hash = key.hashCode();
+
+        long estimate = Long.MAX_VALUE;
+
+        for (int row = 0; row < HotItemTracker.DEPTH; row++) {
+            int index = this.getIndex(hash, row);
+
+            this.counters[row][index]++;
+
+            estimate = Math.min(estimate, this.counters[row][index]);
+        }
+
+        return estimate;
+    }
+
+    private void decayIfDue() {
+        long now = System.nanoTime();
+
+        if ((now - this.lastDecayTime) < this.halfLifeNanos) {
+            return;
+        }
+
+        this.lastDecayTime = now;
+
+        for (long[] row : this.counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>>= 1;
+            }
+        }
+
+        this.candidates.replaceAll((key, count) -> count >>> 1);
+
+        this.candidates.values()
+                       .removeIf(count -> count == 0L);
+    }
+
+    private void offer(MarketKey key, long estimate) {
+        if (this.candidates.containsKey(key) || (this.candidates.size() < this.capacity)) {
+            this.candidates.put(key, estimate);
+
+            return;
+        }
+
+        Map.Entry<MarketKey, Long> coldest = null;
+
+        for (Map.Entry<MarketKey, Long> entry : this.candidates.entrySet()) {
+            if ((coldest == null) || (entry.getValue() < coldest.getValue())) {
+                coldest = entry;
+            }
+        }
+
+        if ((coldest != null) && (coldest.getValue() < estimate)) {
+            this.candidates.remove(coldest.getKey());
+
+            this.candidates.put(key, estimate);
+        }
+    }
+
+    public synchronized void record(Collection<MarketKey> keys) {
+        Objects.requireNonNull(keys);
+
+        this.decayIfDue();
+
+        for (MarketKey key : keys) {
+            long estimate = this.increment(key);
+
+            this.offer(key, estimate);
+        }
+    }
+
+    public synchronized List<MarketKey> getHottest(int limit) {
+        this.decayIfDue();
+
+        Comparator<Map.Entry<MarketKey, Long>> comparator = Map.Entry.comparingByValue();
+
+        return this.candidates.entrySet()
+                              .stream()
+                              .sorted(comparator.reversed())
+                              .limit(limit)
+                              .map(Map.Entry::getKey)
+                              .toList();
+    }
+}
@@ -0,0 +1,116 @@
+package com.logankulinski.service;
+
+import com.logankulinski.model.CheapestListings;
+import com.logankulinski.model.MarketListing;
+import com.logankulinski.model.MarketSnapshot;
+import de.chojo.universalis.worlds.DataCenter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public final class IngredientPricingService {
+    private final MarketSnapshotCache snapshotCache;
+
+    private final OrderBook orderBook;
+
+    @Autowired
+    public IngredientPricingService(MarketSnapshotCache snapshotCache, OrderBook orderBook) {
+        this.snapshotCache = Objects.requireNonNull(snapshotCache);
+
+        this.orderBook = Objects.requireNonNull(orderBook);
+    }
+
+    public CompletableFuture<Map<Integer, MarketSnapshot>> getSnapshotsAsync(DataCenter dataCenter,
+        Collection<Integer> itemIds) {
+        Objects.requireNonNull(dataCenter);
+
+        Objects.requireNonNull(itemIds);
+
+        return this.snapshotCache.getSnapshots(dataCenter, itemIds);
+    }
+
+    public Map<Integer, MarketSnapshot> getSnapshots(DataCenter dataCenter, Collection<Integer> itemIds) {
+        return this.getSnapshotsAsync(dataCenter, itemIds)
+                   .join();
+    }
+
+    public CompletableFuture<Map<Integer, CheapestListings>> getCheapestListingsAsync(DataCenter dataCenter,
+        Collection<Integer> itemIds) {
+        Objects.requireNonNull(dataCenter);
+
+        Objects.requireNonNull(itemIds);
+
+        Map<Integer, CheapestListings> cheapestListings = new HashMap<>();
+
+        List<Integer> missingItemIds = new ArrayList<>();
+
+        for (int itemId : itemIds) {
+            CheapestListings listings = this.orderBook.getCheapestListings(dataCenter.name(), itemId);
+
+            if (listings == null) {
+                missingItemIds.add(itemId);
+            } else {
+                cheapestListings.put(itemId, listings);
+            }
+        }
+
+        if (missingItemIds.isEmpty()) {
+            return CompletableFuture.completedFuture(cheapestListings);
+        }
+
+        return this.getSnapshotsAsync(dataCenter, missingItemIds)
+                   .thenApply(snapshots -> {
+                       snapshots.forEach((itemId, snapshot) -> cheapestListings.put(itemId,
+                           snapshot.selection()
+                                   .cheapestListings()));
+
+                       return cheapestListings;
+                   });
+    }
+
+    public Map<Integer, CheapestListings> getCheapestListings(DataCenter dataCenter, Collection<Integer> itemIds) {
+        return this.getCheapestListingsAsync(dataCenter, itemIds)
+                   .join();
+    }
+
+    public CompletableFuture<Map<Integer, List<MarketListing>>> getListingsAsync(DataCenter dataCenter,
+        Collection<Integer> itemIds) {
+        Objects.requireNonNull(dataCenter);
+
+        Objects.requireNonNull(itemIds);
+
+        Map<Integer, List<MarketListing>> listings = new HashMap<>();
+
+        List<Integer> missingItemIds = new ArrayList<>();
+
+        for (int itemId : itemIds) {
+            List<MarketListing> itemListings = this.orderBook.getListings(dataCenter.name(), itemId);
+
+            if (itemListings == null) {
+                missingItemIds.add(itemId);
+            } else {
+                listings.put(itemId, itemListings);
+            }
+        }
+
+        if (missingItemIds.isEmpty()) {
+            return CompletableFuture.completedFuture(listings);
+        }
+
+        return this.getSnapshotsAsync(dataCenter, missingItemIds)
+                   .thenApply(snapshots -> {
+                       snapshots.forEach((itemId, snapshot) -> listings.put(itemId, snapshot.marketBoard()
+                                                                                            .listings()));
+
+                       return listings;
+                   });
+    }
+}
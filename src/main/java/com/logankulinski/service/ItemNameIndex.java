@@ -0,0 +1,588 @@
+package com.logankulinski.service;
+
+import com.logankulinski.client.RequestPriority;
+import com.logankulinski.client.XIVAPIClient;
+import com.logankulinski.model.Item;
+import com.logankulinski.model.ItemName;
+import com.logankulinski.model.Pagination;
+import com.logankulinski.model.Result;
+import com.logankulinski.model.SearchResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public final class ItemNameIndex {
+    private final XIVAPIClient xivapiClient;
+
+    private final ExecutorService executor;
+
+    private volatile Index index;
+
+    private static final int FUZZY_CANDIDATES;
+
+    private static final int MAX_PAGE_ATTEMPTS;
+
+    private static final Duration PAGE_RETRY_DELAY;
+
+    private static final Duration REBUILD_DELAY;
+
+    private static final Logger LOGGER;
+
+    static {
+        FUZZY_CANDIDATES = 32;
+
+        MAX_PAGE_ATTEMPTS = 3;
+
+        PAGE_RETRY_DELAY = Duration.ofSeconds(1L);
+
+        REBUILD_DELAY = Duration.ofMinutes(5L);
+
+        LOGGER = LoggerFactory.getLogger(ItemNameIndex.class);
+    }
+
+    @Autowired
+    public ItemNameIndex(XIVAPIClient xivapiClient, ExecutorService executor) {
+        this.xivapiClient = Objects.requireNonNull(xivapiClient);
+
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    private static String normalize(String name) {
+        Objects.requireNonNull(name);
+
+        return name.strip()
+                   .replaceAll("\\s+", " ")
+                   .toLowerCase(Locale.ROOT);
+    }
+
+    private static long[] getTrigrams(String normalizedName) {
+        Objects.requireNonNull(normalizedName);
+
+        String padded = "  %s ".formatted(normalizedName);
+
+        long[] trigrams = new long[padded.length() - 2];
+
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) |
+                padded.charAt(i + 2);
+        }
+
+        return Arrays.stream(trigrams)
+                     .distinct()
+                     .toArray();
+    }
+
+    private static int getEditDistance(String first, String second) {
+        Objects.requireNonNull(first);
+
+        Objects.requireNonNull(second);
+
+        int[] previous = new int[second.length() + 1];
+
+        int[] current = new int[second.length() + 1];
+
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+
+            for (int j = 1; j <= second.length(); j++) {
+                int cost = (first.charAt(i - 1) == second.charAt(j - 1)) ? 0 : 1;
+
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+
+            int[] swap = previous;
+
+            previous = current;
+
+            current = swap;
+        }
+
+        return previous[second.length()];
+    }
+
+    /*
+     * Names are kept sorted in parallel arrays so exact and prefix lookups are binary searches. Trigrams are stored
+     * in a compressed sparse row layout: the postings of trigramKeys[i] are postings[offsets[i]..offsets[i + 1]).
+     */
+    private record Index(
+        String[] normalizedNames,
+
+        String[] names,
+
+        int[] ids,
+
+        int[] positionsById,
+
+        int[] sortedIds,
+
+        long[] trigramKeys,
+
+        int[] offsets,
+
+        int[] postings
+    ) {
+        static Index of(List<ItemName> itemNames) {
+            Objects.requireNonNull(itemNames);
+
+            List<ItemName> sortedItemNames = itemNames.stream()
+                                                      .sorted(Comparator.comparing(itemName ->
+                                                          ItemNameIndex.normalize(itemName.name())))
+                                                      .toList();
+
+            int size = sortedItemNames.size();
+
+            String[] normalizedNames = new String[size];
+
+            String[] names = new String[size];
+
+            int[] ids = new int[size];
+
+            Map<Long, List<Integer>> postingsByTrigram = new HashMap<>();
+
+            for (int i = 0; i < size; i++) {
+                ItemName itemName = sortedItemNames.get(i);
+
+                names[i] = itemName.name();
+
+                normalizedNames[i] = ItemNameIndex.normalize(names[i]);
+
+                ids[i] = itemName.id();
+
+                for (long trigram : ItemNameIndex.getTrigrams(normalizedNames[i])) {
+                    postingsByTrigram.computeIfAbsent(trigram, key -> new ArrayList<>())
+                                     .add(i);
+                }
+            }
+
+            Integer[] positions = new Integer[size];
+
+            Arrays.setAll(positions, i -> i);
+
+            Arrays.sort(positions, Comparator.comparingInt(position -> ids[position]));
+
+            int[] positionsById = new int[size];
+
+            int[] sortedIds = new int[size];
+
+            for (int i = 0; i < size; i++) {
+                positionsById[i] = positions[i];
+
+                sortedIds[i] = ids[positions[i]];
+            }
+
+            long[] trigramKeys = postingsByTrigram.keySet()
+                                                  .stream()
+                                                  .mapToLong(Long::longValue)
+                                                  .sorted()
+                                                  .toArray();
+
+            int[] offsets = new int[trigramKeys.length + 1];
+
+            int postingCount = postingsByTrigram.values()
+                                                .stream()
+                                                .mapToInt(List::size)
+                                                .sum();
+
+            int[] postings = new int[postingCount];
+
+            int offset = 0;
+
+            for (int i = 0; i < trigramKeys.length; i++) {
+                offsets[i] = offset;
+
+                for (int position : postingsByTrigram.get(trigramKeys[i])) {
+                    postings[offset++] = position;
+                }
+            }
+
+            offsets[trigramKeys.length] = offset;
+
+            return new Index(normalizedNames, names, ids, positionsById, sortedIds, trigramKeys, offsets, postings);
+        }
+
+        int size() {
+            return this.ids.length;
+        }
+
+        ItemName get(int position) {
+            return new ItemName(this.ids[position], this.names[position]);
+        }
+
+        int lowerBound(String normalizedName) {
+            int low = 0;
+
+            int high = this.normalizedNames.length;
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+
+                if (this.normalizedNames[middle].compareTo(normalizedName) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+
+        int getPositionById(int id) {
+            int index = Arrays.binarySearch(this.sortedIds, id);
+
+            if (index < 0) {
+                return -1;
+            }
+
+            return this.positionsById[index];
+        }
+
+        int[] getFuzzyCandidates(String normalizedName, int limit) {
+            int[] counts = new int[this.size()];
+
+            long[] trigrams = ItemNameIndex.getTrigrams(normalizedName);
+
+            int minimumCount = Math.max(1, trigrams.length / 2);
+
+            for (long trigram : trigrams) {
+                int keyIndex = Arrays.binarySearch(this.trigramKeys, trigram);
+
+                if (keyIndex < 0) {
+                    continue;
+                }
+
+                for (int i = this.offsets[keyIndex]; i < this.offsets[keyIndex + 1]; i++) {
+                    counts[this.postings[i]]++;
+                }
+            }
+
+            int[] candidates = new int[limit];
+
+            int candidateCount = 0;
+
+            int weakest = 0;
+
+            for (int position = 0; position < counts.length; position++) {
+                if (counts[position] < minimumCount) {
+                    continue;
+                }
+
+                if (candidateCount < limit) {
+                    candidates[candidateCount] = position;
+
+                    if (counts[position] < counts[candidates[weakest]]) {
+                        weakest = candidateCount;
+                    }
+
+                    candidateCount++;
+
+                    continue;
+                }
+
+                if (counts[position] <= counts[candidates[weakest]]) {
+                    continue;
+                }
+
+                candidates[weakest] = position;
+
+                for (int i = 0; i < limit; i++) {
+                    if (counts[candidates[i]] < counts[candidates[weakest]]) {
+                        weakest = i;
+                    }
+                }
+            }
+
+            return Arrays.copyOf(candidates, candidateCount);
+        }
+    }
+
+    /*
+     * Retries a failed page a few times with a growing delay, so one dropped request does not cost the whole build.
+     */
+    private SearchResponse getPage(int page) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return RequestPriority.BACKGROUND.supply(() -> this.xivapiClient.getItems(page));
+            } catch (RestClientException e) {
+                if (attempt == ItemNameIndex.MAX_PAGE_ATTEMPTS) {
+                    throw e;
+                }
+
+                ItemNameIndex.LOGGER.warn("Fetching item page {} failed on attempt {}, retrying", page, attempt, e);
+
+                try {
+                    Thread.sleep(ItemNameIndex.PAGE_RETRY_DELAY.multipliedBy(attempt));
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread()
+                          .interrupt();
+
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private List<ItemName> getItemNames(SearchResponse response) {
+        Objects.requireNonNull(response);
+
+        return response.results()
+                       .stream()
+                       .filter(result -> (result.name() != null) && !result.name()
+                                                                           .isBlank())
+                       .map(result -> new ItemName(result.id(), result.name()))
+                       .toList();
+    }
+
+    /*
+     * A build that still fails after the page retries schedules another one, so the index is eventually built and
+     * lookups do not fall back to remote searches for the life of the process.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        CompletableFuture.runAsync(() -> {
+            long start = System.nanoTime();
+
+            SearchResponse firstPage = this.getPage(1);
+
+            Pagination pagination = firstPage.pagination();
+
+            List<CompletableFuture<List<ItemName>>> futures = new ArrayList<>();
+
+            futures.add(CompletableFuture.completedFuture(this.getItemNames(firstPage)));
+
+            for (int page = 2; page <= pagination.pageTotal(); page++) {
+                int currentPage = page;
+
+                futures.add(CompletableFuture.supplyAsync(() -> this.getItemNames(this.getPage(currentPage)),
+                    this.executor));
+            }
+
+            List<ItemName> itemNames = futures.stream()
+                                              .map(CompletableFuture::join)
+                                              .flatMap(List::stream)
+                                              .toList();
+
+            this.index = Index.of(itemNames);
+
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+            ItemNameIndex.LOGGER.info("Indexed {} item names in {} ms", itemNames.size(), elapsedMillis);
+        }, this.executor)
+                         .exceptionally(throwable -> {
+                             String message = throwable.getMessage();
+
+                             ItemNameIndex.LOGGER.error(message, throwable);
+
+                             long delayMillis = ItemNameIndex.REBUILD_DELAY.toMillis();
+
+                             ItemNameIndex.LOGGER.info("Rebuilding the item name index in {} ms", delayMillis);
+
+                             Executor delayedExecutor = CompletableFuture.delayedExecutor(delayMillis,
+                                 TimeUnit.MILLISECONDS, this.executor);
+
+                             delayedExecutor.execute(this::build);
+
+                             return null;
+                         });
+    }
+
+    public boolean isReady() {
+        return this.index != null;
+    }
+
+    public String getName(int id) {
+        Index index = this.index;
+
+        if (index == null) {
+            return null;
+        }
+
+        int position = index.getPositionById(id);
+
+        if (position < 0) {
+            return null;
+        }
+
+        return index.names()[position];
+    }
+
+    private ItemName findRemotely(String name) {
+        Objects.requireNonNull(name);
+
+        SearchResponse response;
+
+        try {
+            response = this.xivapiClient.search(name);
+        } catch (RestClientException e) {
+            String message = e.getMessage();
+
+            ItemNameIndex.LOGGER.error(message, e);
+
+            return null;
+        }
+
+        List<Result> results = response.results();
+
+        if (results.isEmpty()) {
+            return null;
+        }
+
+        Result result = results.getFirst();
+
+        return new ItemName(result.id(), result.name());
+    }
+
+    public ItemName find(String name) {
+        Objects.requireNonNull(name);
+
+        Index index = this.index;
+
+        if (index == null) {
+            return this.findRemotely(name);
+        }
+
+        String normalizedName = ItemNameIndex.normalize(name);
+
+        if (normalizedName.isEmpty()) {
+            return null;
+        }
+
+        int start = index.lowerBound(normalizedName);
+
+        int shortestPrefixMatch = -1;
+
+        for (int i = start; (i < index.size()) && index.normalizedNames()[i].startsWith(normalizedName); i++) {
+            if (index.normalizedNames()[i].length() == normalizedName.length()) {
+                return index.get(i);
+            }
+
+            if ((shortestPrefixMatch == -1) ||
+                (index.normalizedNames()[i].length() < index.normalizedNames()[shortestPrefixMatch].length())) {
+                shortestPrefixMatch = i;
+            }
+        }
+
+        if (shortestPrefixMatch != -1) {
+            return index.get(shortestPrefixMatch);
+        }
+
+        int maxDistance = Math.max(2, normalizedName.length() / 3);
+
+        int bestPosition = -1;
+
+        int bestDistance = Integer.MAX_VALUE;
+
+        for (int position : index.getFuzzyCandidates(normalizedName, ItemNameIndex.FUZZY_CANDIDATES)) {
+            int distance = ItemNameIndex.getEditDistance(normalizedName, index.normalizedNames()[position]);
+
+            if ((distance <= maxDistance) && (distance < bestDistance)) {
+                bestPosition = position;
+
+                bestDistance = distance;
+            }
+        }
+
+        if (bestPosition == -1) {
+            return null;
+        }
+
+        return index.get(bestPosition);
+    }
+
+    public ItemName resolve(String value) {
+        Objects.requireNonNull(value);
+
+        String strippedValue = value.strip();
+
+        if (!strippedValue.matches("\\d{1,9}")) {
+            return this.find(value);
+        }
+
+        int id = Integer.parseInt(strippedValue);
+
+        String name = this.getName(id);
+
+        if (name != null) {
+            return new ItemName(id, name);
+        }
+
+        Item item;
+
+        try {
+            item = this.xivapiClient.getItem(id);
+        } catch (RestClientException e) {
+            String message = e.getMessage();
+
+            ItemNameIndex.LOGGER.error(message, e);
+
+            return null;
+        }
+
+        return new ItemName(item.id(), item.name());
+    }
+
+    public List<ItemName> search(String query, int limit) {
+        Objects.requireNonNull(query);
+
+        Index index = this.index;
+
+        if (index == null) {
+            return List.of();
+        }
+
+        String normalizedQuery = ItemNameIndex.normalize(query);
+
+        if (normalizedQuery.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Integer> positions = new LinkedHashSet<>();
+
+        int start = index.lowerBound(normalizedQuery);
+
+        for (int i = start; (i < index.size()) && (positions.size() < limit) &&
+            index.normalizedNames()[i].startsWith(normalizedQuery); i++) {
+            positions.add(i);
+        }
+
+        if (positions.size() < limit) {
+            int[] candidates = index.getFuzzyCandidates(normalizedQuery, ItemNameIndex.FUZZY_CANDIDATES);
+
+            Arrays.stream(candidates)
+                  .boxed()
+                  .filter(position -> !positions.contains(position))
+                  .sorted(Comparator.comparingInt(position -> ItemNameIndex.getEditDistance(normalizedQuery,
+                      index.normalizedNames()[position])))
+                  .limit(limit - positions.size())
+                  .forEach(positions::add);
+        }
+
+        return positions.stream()
+                        .map(index::get)
+                        .toList();
+    }
+}
@@ -0,0 +1,115 @@
+package com.logankulinski.service;
+
+import com.logankulinski.model.CheapestListings;
+import com.logankulinski.model.ListingSelection;
+import com.logankulinski.model.MarketListing;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public final class ListingSelector {
+    private ListingSelector() {
+    }
+
+    private static final class WorldSelection {
+        private MarketListing normalQualityListing;
+
+        private MarketListing highQualityListing;
+    }
+
+    private static boolean isCheaper(MarketListing listing, MarketListing currentListing) {
+        return (currentListing == null) || (listing.pricePerUnit() < currentListing.pricePerUnit());
+    }
+
+    /*
+     * Keeps the cheapest listings in ascending order in a fixed-size array. Listings priced the same as one already
+     * kept go after it, so ties resolve to the earlier listing just like the NQ and HQ minimums do.
+     */
+    private static int insertTopListing(MarketListing[] topListings, int size, MarketListing listing) {
+        int limit = topListings.length;
+
+        int price = listing.pricePerUnit();
+
+        if ((size == limit) && (price >= topListings[size - 1].pricePerUnit())) {
+            return size;
+        }
+
+        int index = (size == limit) ? (size - 1) : size;
+
+        while ((index > 0) && (topListings[index - 1].pricePerUnit() > price)) {
+            topListings[index] = topListings[index - 1];
+
+            index--;
+        }
+
+        topListings[index] = listing;
+
+        return Math.min(size + 1, limit);
+    }
+
+    public static ListingSelection select(List<MarketListing> listings, int limit) {
+        Objects.requireNonNull(listings);
+
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+
+        MarketListing normalQualityListing = null;
+
+        MarketListing highQualityListing = null;
+
+        Map<String, WorldSelection> worldSelections = new HashMap<>();
+
+        MarketListing[] topListings = new MarketListing[limit];
+
+        int topListingCount = 0;
+
+        for (int i = 0, size = listings.size(); i < size; i++) {
+            MarketListing listing = listings.get(i);
+
+            boolean hq = listing.hq();
+
+            if (hq) {
+                if (ListingSelector.isCheaper(listing, highQualityListing)) {
+                    highQualityListing = listing;
+                }
+            } else if (ListingSelector.isCheaper(listing, normalQualityListing)) {
+                normalQualityListing = listing;
+            }
+
+            String worldName = listing.worldName();
+
+            if (worldName != null) {
+                WorldSelection worldSelection = worldSelections.computeIfAbsent(worldName,
+                    key -> new WorldSelection());
+
+                if (hq) {
+                    if (ListingSelector.isCheaper(listing, worldSelection.highQualityListing)) {
+                        worldSelection.highQualityListing = listing;
+                    }
+                } else if (ListingSelector.isCheaper(listing, worldSelection.normalQualityListing)) {
+                    worldSelection.normalQualityListing = listing;
+                }
+            }
+
+            if (limit > 0) {
+                topListingCount = ListingSelector.insertTopListing(topListings, topListingCount, listing);
+            }
+        }
+
+        CheapestListings cheapestListings = new CheapestListings(normalQualityListing, highQualityListing);
+
+        Map<String, CheapestListings> worldListings = HashMap.newHashMap(worldSelections.size());
+
+        worldSelections.forEach((name, selection) -> worldListings.put(name,
+            new CheapestListings(selection.normalQualityListing, selection.highQualityListing)));
+
+        List<MarketListing> topListingList = List.of(Arrays.copyOf(topListings, topListingCount));
+
+        return new ListingSelection(cheapestListings, Collections.unmodifiableMap(worldListings), topListingList);
+    }
+}
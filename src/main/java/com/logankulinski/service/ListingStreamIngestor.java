@@ -0,0 +1,158 @@
+package com.logankulinski.service;
+
+import com.logankulinski.client.RequestPriority;
+import com.logankulinski.client.UniversalisClient;
+import com.logankulinski.client.UniversalisWebSocketClient;
+import com.logankulinski.model.ListingEvent;
+import com.logankulinski.model.UniversalisDataCenter;
+import com.logankulinski.model.UniversalisWorld;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+@Component
+public final class ListingStreamIngestor {
+    private final UniversalisClient universalisClient;
+
+    private final OrderBook orderBook;
+
+    private final ExecutorService executor;
+
+    private final URI uri;
+
+    private final Duration reconnectDelay;
+
+    private volatile Map<Integer, WorldLocation> worldLocations;
+
+    private volatile UniversalisWebSocketClient webSocketClient;
+
+    private static final Logger LOGGER;
+
+    static {
+        LOGGER = LoggerFactory.getLogger(ListingStreamIngestor.class);
+    }
+
+    private record WorldLocation(String dataCenterName, String worldName) {
+    }
+
+    @Autowired
+    public ListingStreamIngestor(UniversalisClient universalisClient, OrderBook orderBook, ExecutorService executor,
+        @Value("${universalis.stream.uri}") URI uri,
+        @Value("${universalis.stream.reconnect-delay}") Duration reconnectDelay) {
+        this.universalisClient = Objects.requireNonNull(universalisClient);
+
+        this.orderBook = Objects.requireNonNull(orderBook);
+
+        this.executor = Objects.requireNonNull(executor);
+
+        this.uri = Objects.requireNonNull(uri);
+
+        this.reconnectDelay = Objects.requireNonNull(reconnectDelay);
+
+        this.worldLocations = Map.of();
+    }
+
+    private Map<Integer, WorldLocation> getWorldLocations() {
+        List<UniversalisDataCenter> dataCenters = this.universalisClient.getDataCenters();
+
+        List<UniversalisWorld> worlds = this.universalisClient.getWorlds();
+
+        Map<Integer, String> worldNames = new HashMap<>();
+
+        worlds.forEach(world -> worldNames.put(world.id(), world.name()));
+
+        Map<Integer, WorldLocation> worldLocations = new HashMap<>();
+
+        for (UniversalisDataCenter dataCenter : dataCenters) {
+            if (!this.orderBook.isStreamed(dataCenter.name())) {
+                continue;
+            }
+
+            for (int worldId : dataCenter.worlds()) {
+                String worldName = worldNames.get(worldId);
+
+                if (worldName == null) {
+                    continue;
+                }
+
+                worldLocations.put(worldId, new WorldLocation(dataCenter.name(), worldName));
+            }
+        }
+
+        return worldLocations;
+    }
+
+    private void onEvent(ListingEvent event) {
+        Objects.requireNonNull(event);
+
+        WorldLocation location = this.worldLocations.get(event.worldId());
+
+        if (location == null) {
+            return;
+        }
+
+        this.orderBook.apply(location.dataCenterName(), location.worldName(), event);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (this.orderBook.getDataCenterNames()
+                          .isEmpty()) {
+            return;
+        }
+
+        CompletableFuture.runAsync(() -> {
+            this.worldLocations = RequestPriority.BACKGROUND.supply(this::getWorldLocations);
+
+            List<String> channels = new ArrayList<>();
+
+            for (int worldId : this.worldLocations.keySet()) {
+                channels.add("listings/add{world=%d}".formatted(worldId));
+
+                channels.add("listings/remove{world=%d}".formatted(worldId));
+            }
+
+            HttpClient httpClient = HttpClient.newHttpClient();
+
+            this.webSocketClient = new UniversalisWebSocketClient(httpClient, this.uri, channels, this::onEvent,
+                this.orderBook::clear, this.reconnectDelay);
+
+            this.webSocketClient.connect();
+
+            ListingStreamIngestor.LOGGER.info("Subscribed to listing events for {} worlds",
+                this.worldLocations.size());
+        }, this.executor)
+                         .exceptionally(throwable -> {
+                             String message = throwable.getMessage();
+
+                             ListingStreamIngestor.LOGGER.error(message, throwable);
+
+                             return null;
+                         });
+    }
+
+    @PreDestroy
+    public void stop() {
+        UniversalisWebSocketClient webSocketClient = this.webSocketClient;
+
+        if (webSocketClient != null) {
+            webSocketClient.close();
+        }
+    }
+}
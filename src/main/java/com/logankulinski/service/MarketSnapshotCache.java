@@ -0,0 +1,294 @@
+package com.logankulinski.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.logankulinski.client.RequestPriority;
+import com.logankulinski.client.UniversalisClient;
+import com.logankulinski.model.*;
+import de.chojo.universalis.worlds.DataCenter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+@Component
+public final class MarketSnapshotCache {
+    private final UniversalisClient universalisClient;
+
+    private final ExecutorService executor;
+
+    private final HotItemTracker hotItemTracker;
+
+    private final OrderBook orderBook;
+
+    private final AsyncCache<MarketKey, MarketSnapshot> cache;
+
+    private final Duration freshness;
+
+    private final int topListingCount;
+
+    private final Set<MarketKey> refreshingKeys;
+
+    public static final int MAX_ITEMS_PER_REQUEST;
+
+    private static final Logger LOGGER;
+
+    static {
+        MAX_ITEMS_PER_REQUEST = 100;
+
+        LOGGER = LoggerFactory.getLogger(MarketSnapshotCache.class);
+    }
+
+    @Autowired
+    public MarketSnapshotCache(UniversalisClient universalisClient, ExecutorService executor,
+        HotItemTracker hotItemTracker, OrderBook orderBook, MeterRegistry meterRegistry,
+        @Value("${universalis.snapshot.freshness}") Duration freshness,
+        @Value("${universalis.snapshot.max-staleness}") Duration maxStaleness,
+        @Value("${universalis.snapshot.maximum-size}") long maximumSize,
+        @Value("${universalis.snapshot.top-listings}") int topListingCount) {
+        Objects.requireNonNull(meterRegistry);
+
+        Objects.requireNonNull(maxStaleness);
+
+        this.universalisClient = Objects.requireNonNull(universalisClient);
+
+        this.executor = Objects.requireNonNull(executor);
+
+        this.hotItemTracker = Objects.requireNonNull(hotItemTracker);
+
+        this.orderBook = Objects.requireNonNull(orderBook);
+
+        AsyncCache<MarketKey, MarketSnapshot> cache = Caffeine.newBuilder()
+                                                              .maximumSize(maximumSize)
+                                                              .expireAfterWrite(maxStaleness)
+                                                              .executor(executor)
+                                                              .recordStats()
+                                                              .buildAsync();
+
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, cache, "universalis.snapshots");
+
+        this.freshness = Objects.requireNonNull(freshness);
+
+        this.topListingCount = topListingCount;
+
+        this.refreshingKeys = ConcurrentHashMap.newKeySet();
+    }
+
+    private Map<Integer, MarketBoard> getMarketBoards(String dataCenterName, List<Integer> itemIds) {
+        Objects.requireNonNull(dataCenterName);
+
+        Objects.requireNonNull(itemIds);
+
+        if (itemIds.size() == 1) {
+            int itemId = itemIds.getFirst();
+
+            MarketBoard marketBoard = this.universalisClient.getMarketBoard(dataCenterName, itemId);
+
+            return Map.of(itemId, marketBoard);
+        }
+
+        String itemIdsString = itemIds.stream()
+                                      .map(String::valueOf)
+                                      .collect(Collectors.joining(","));
+
+        MarketBoards marketBoards = this.universalisClient.getMarketBoards(dataCenterName, itemIdsString);
+
+        return marketBoards.items();
+    }
+
+    private Map<MarketKey, MarketSnapshot> fetchChunk(String dataCenterName, List<Integer> itemIds) {
+        Objects.requireNonNull(dataCenterName);
+
+        Objects.requireNonNull(itemIds);
+
+        Map<Integer, MarketBoard> marketBoards;
+
+        try {
+            marketBoards = this.getMarketBoards(dataCenterName, itemIds);
+        } catch (RestClientException e) {
+            String message = e.getMessage();
+
+            MarketSnapshotCache.LOGGER.error(message, e);
+
+            return Map.of();
+        }
+
+        Instant fetchedAt = Instant.now();
+
+        Map<MarketKey, MarketSnapshot> snapshots = new HashMap<>();
+
+        marketBoards.forEach((itemId, marketBoard) -> {
+            MarketKey key = new MarketKey(dataCenterName, itemId);
+
+            ListingSelection selection = ListingSelector.select(marketBoard.listings(), this.topListingCount);
+
+            MarketSnapshot snapshot = new MarketSnapshot(marketBoard, selection, fetchedAt);
+
+            snapshots.put(key, snapshot);
+
+            this.orderBook.seed(dataCenterName, itemId, marketBoard);
+        });
+
+        return snapshots;
+    }
+
+    private CompletableFuture<Map<MarketKey, MarketSnapshot>> fetch(Set<? extends MarketKey> keys,
+        RequestPriority priority) {
+        Objects.requireNonNull(keys);
+
+        Objects.requireNonNull(priority);
+
+        Map<String, List<Integer>> itemIdsByDataCenter = keys.stream()
+                                                             .collect(Collectors.groupingBy(MarketKey::dataCenter,
+                                                                 Collectors.mapping(MarketKey::itemId,
+                                                                     Collectors.toList())));
+
+        List<CompletableFuture<Map<MarketKey, MarketSnapshot>>> futures = new ArrayList<>();
+
+        itemIdsByDataCenter.forEach((dataCenterName, itemIds) -> {
+            for (int start = 0; start < itemIds.size(); start += MarketSnapshotCache.MAX_ITEMS_PER_REQUEST) {
+                int end = Math.min(start + MarketSnapshotCache.MAX_ITEMS_PER_REQUEST, itemIds.size());
+
+                List<Integer> chunk = itemIds.subList(start, end);
+
+                CompletableFuture<Map<MarketKey, MarketSnapshot>> future = CompletableFuture.supplyAsync(
+                    () -> priority.supply(() -> this.fetchChunk(dataCenterName, chunk)), this.executor);
+
+                futures.add(future);
+            }
+        });
+
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                                .thenApply(ignored -> {
+                                    Map<MarketKey, MarketSnapshot> snapshots = new HashMap<>();
+
+                                    futures.stream()
+                                           .map(CompletableFuture::join)
+                                           .forEach(snapshots::putAll);
+
+                                    return snapshots;
+                                });
+    }
+
+    private void refreshStale(Map<MarketKey, MarketSnapshot> snapshots) {
+        Objects.requireNonNull(snapshots);
+
+        Instant staleBefore = Instant.now()
+                                     .minus(this.freshness);
+
+        Set<MarketKey> staleKeys = snapshots.entrySet()
+                                            .stream()
+                                            .filter(entry -> entry.getValue()
+                                                                  .fetchedAt()
+                                                                  .isBefore(staleBefore))
+                                            .map(Map.Entry::getKey)
+                                            .filter(this.refreshingKeys::add)
+                                            .collect(Collectors.toSet());
+
+        if (staleKeys.isEmpty()) {
+            return;
+        }
+
+        this.fetch(staleKeys, RequestPriority.BACKGROUND)
+            .whenComplete((refreshedSnapshots, throwable) -> {
+                if (refreshedSnapshots != null) {
+                    this.cache.synchronous()
+                              .putAll(refreshedSnapshots);
+                }
+
+                this.refreshingKeys.removeAll(staleKeys);
+            });
+    }
+
+    public boolean needsRefresh(MarketKey key, Duration lookahead) {
+        Objects.requireNonNull(key);
+
+        Objects.requireNonNull(lookahead);
+
+        CompletableFuture<MarketSnapshot> future = this.cache.getIfPresent(key);
+
+        if ((future == null) || future.isCompletedExceptionally()) {
+            return true;
+        } else if (!future.isDone()) {
+            return false;
+        }
+
+        MarketSnapshot snapshot = future.join();
+
+        if (snapshot == null) {
+            return true;
+        }
+
+        Instant refreshBefore = Instant.now()
+                                       .minus(this.freshness)
+                                       .plus(lookahead);
+
+        return snapshot.fetchedAt()
+                       .isBefore(refreshBefore);
+    }
+
+    public CompletableFuture<Integer> prefetch(Collection<MarketKey> keys) {
+        Objects.requireNonNull(keys);
+
+        Set<MarketKey> prefetchKeys = keys.stream()
+                                          .filter(this.refreshingKeys::add)
+                                          .collect(Collectors.toSet());
+
+        if (prefetchKeys.isEmpty()) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        return this.fetch(prefetchKeys, RequestPriority.BACKGROUND)
+                   .whenComplete((snapshots, throwable) -> this.refreshingKeys.removeAll(prefetchKeys))
+                   .thenApply(snapshots -> {
+                       this.cache.synchronous()
+                                 .putAll(snapshots);
+
+                       return snapshots.size();
+                   });
+    }
+
+    public CompletableFuture<Map<Integer, MarketSnapshot>> getSnapshots(DataCenter dataCenter,
+        Collection<Integer> itemIds) {
+        Objects.requireNonNull(dataCenter);
+
+        Objects.requireNonNull(itemIds);
+
+        String dataCenterName = dataCenter.name();
+
+        Set<MarketKey> keys = itemIds.stream()
+                                     .map(itemId -> new MarketKey(dataCenterName, itemId))
+                                     .collect(Collectors.toSet());
+
+        this.hotItemTracker.record(keys);
+
+        return this.cache.getAll(keys, (missingKeys, executor) -> this.fetch(missingKeys, RequestPriority.INTERACTIVE))
+                         .thenApply(snapshots -> {
+                             this.refreshStale(snapshots);
+
+                             Map<Integer, MarketSnapshot> snapshotsByItemId = new HashMap<>();
+
+                             snapshots.forEach((key, snapshot) -> snapshotsByItemId.put(key.itemId(), snapshot));
+
+                             return snapshotsByItemId;
+                         });
+    }
+}
@@ -0,0 +1,308 @@
+package com.logankulinski.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.logankulinski.model.CheapestListings;
+import com.logankulinski.model.ListingEvent;
+import com.logankulinski.model.MarketBoard;
+import com.logankulinski.model.MarketKey;
+import com.logankulinski.model.MarketListing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+@Component
+public final class OrderBook {
+    private final Set<String> dataCenterNames;
+
+    private final Cache<MarketKey, ItemBook> books;
+
+    private static final Comparator<MarketListing> LISTING_ORDER;
+
+    private static final String ADD_EVENT;
+
+    private static final String REMOVE_EVENT;
+
+    static {
+        LISTING_ORDER = Comparator.comparingInt(MarketListing::pricePerUnit)
+                                  .thenComparing(MarketListing::listingId,
+                                      Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        ADD_EVENT = "listings/add";
+
+        REMOVE_EVENT = "listings/remove";
+    }
+
+    @Autowired
+    public OrderBook(@Value("${universalis.stream.data-centers}") String dataCenterNames,
+        @Value("${universalis.stream.maximum-items}") long maximumItems, MeterRegistry meterRegistry) {
+        Objects.requireNonNull(dataCenterNames);
+
+        Objects.requireNonNull(meterRegistry);
+
+        this.dataCenterNames = Arrays.stream(dataCenterNames.split(","))
+                                     .map(String::strip)
+                                     .filter(name -> !name.isEmpty())
+                                     .collect(Collectors.toUnmodifiableSet());
+
+        Cache<MarketKey, ItemBook> books = Caffeine.newBuilder()
+                                                   .maximumSize(maximumItems)
+                                                   .recordStats()
+                                                   .build();
+
+        this.books = CaffeineCacheMetrics.monitor(meterRegistry, books, "universalis.order-book");
+    }
+
+    private static final class WorldBook {
+        private final Map<String, MarketListing> listingsById;
+
+        private final NavigableSet<MarketListing> normalQualityListings;
+
+        private final NavigableSet<MarketListing> highQualityListings;
+
+        WorldBook() {
+            this.listingsById = new HashMap<>();
+
+            this.normalQualityListings = new TreeSet<>(OrderBook.LISTING_ORDER);
+
+            this.highQualityListings = new TreeSet<>(OrderBook.LISTING_ORDER);
+        }
+
+        private NavigableSet<MarketListing> getListings(boolean hq) {
+            return hq ? this.highQualityListings : this.normalQualityListings;
+        }
+
+        /*
+         * A listing without an ID is skipped: no remove event could ever match it, and it would tie with any other
+         * unidentified listing at the same price, so the sets would keep one of them as a phantom cheapest listing.
+         */
+        void add(MarketListing listing) {
+            Objects.requireNonNull(listing);
+
+            String listingId = listing.listingId();
+
+            if (listingId == null) {
+                return;
+            }
+
+            this.remove(listingId);
+
+            this.listingsById.put(listingId, listing);
+
+            this.getListings(listing.hq())
+                .add(listing);
+        }
+
+        void remove(String listingId) {
+            Objects.requireNonNull(listingId);
+
+            MarketListing listing = this.listingsById.remove(listingId);
+
+            if (listing == null) {
+                return;
+            }
+
+            this.getListings(listing.hq())
+                .remove(listing);
+        }
+
+        MarketListing getCheapestListing(boolean hq) {
+            NavigableSet<MarketListing> listings = this.getListings(hq);
+
+            return listings.isEmpty() ? null : listings.first();
+        }
+
+        void addAllTo(List<MarketListing> listings) {
+            Objects.requireNonNull(listings);
+
+            listings.addAll(this.normalQualityListings);
+
+            listings.addAll(this.highQualityListings);
+        }
+    }
+
+    private static final class ItemBook {
+        private final Map<String, WorldBook> worldBooks;
+
+        ItemBook() {
+            this.worldBooks = new HashMap<>();
+        }
+
+        synchronized void add(String worldName, List<MarketListing> listings) {
+            Objects.requireNonNull(worldName);
+
+            Objects.requireNonNull(listings);
+
+            WorldBook worldBook = this.worldBooks.computeIfAbsent(worldName, key -> new WorldBook());
+
+            for (MarketListing listing : listings) {
+                MarketListing worldListing = listing;
+
+                if (listing.worldName() == null) {
+                    worldListing = new MarketListing(listing.listingId(), listing.pricePerUnit(), listing.quantity(),
+                        worldName, listing.hq());
+                }
+
+                worldBook.add(worldListing);
+            }
+        }
+
+        synchronized void remove(String worldName, List<MarketListing> listings) {
+            Objects.requireNonNull(worldName);
+
+            Objects.requireNonNull(listings);
+
+            WorldBook worldBook = this.worldBooks.get(worldName);
+
+            if (worldBook == null) {
+                return;
+            }
+
+            for (MarketListing listing : listings) {
+                if (listing.listingId() != null) {
+                    worldBook.remove(listing.listingId());
+                }
+            }
+        }
+
+        synchronized MarketListing getCheapestListing(boolean hq) {
+            MarketListing cheapestListing = null;
+
+            for (WorldBook worldBook : this.worldBooks.values()) {
+                MarketListing listing = worldBook.getCheapestListing(hq);
+
+                if ((listing != null) && ((cheapestListing == null) ||
+                    (OrderBook.LISTING_ORDER.compare(listing, cheapestListing) < 0))) {
+                    cheapestListing = listing;
+                }
+            }
+
+            return cheapestListing;
+        }
+
+        synchronized List<MarketListing> getListings() {
+            List<MarketListing> listings = new ArrayList<>();
+
+            this.worldBooks.values()
+                           .forEach(worldBook -> worldBook.addAllTo(listings));
+
+            listings.sort(OrderBook.LISTING_ORDER);
+
+            return listings;
+        }
+    }
+
+    public boolean isStreamed(String dataCenterName) {
+        Objects.requireNonNull(dataCenterName);
+
+        return this.dataCenterNames.contains(dataCenterName);
+    }
+
+    public Set<String> getDataCenterNames() {
+        return this.dataCenterNames;
+    }
+
+    public void clear() {
+        this.books.invalidateAll();
+    }
+
+    public void seed(String dataCenterName, int itemId, MarketBoard marketBoard) {
+        Objects.requireNonNull(dataCenterName);
+
+        Objects.requireNonNull(marketBoard);
+
+        if (!this.isStreamed(dataCenterName)) {
+            return;
+        }
+
+        ItemBook itemBook = new ItemBook();
+
+        Map<String, List<MarketListing>> listingsByWorld = marketBoard.listings()
+                                                                      .stream()
+                                                                      .filter(listing -> listing.worldName() != null)
+                                                                      .collect(Collectors.groupingBy(
+                                                                          MarketListing::worldName));
+
+        listingsByWorld.forEach(itemBook::add);
+
+        MarketKey key = new MarketKey(dataCenterName, itemId);
+
+        this.books.put(key, itemBook);
+    }
+
+    public void apply(String dataCenterName, String worldName, ListingEvent event) {
+        Objects.requireNonNull(dataCenterName);
+
+        Objects.requireNonNull(worldName);
+
+        Objects.requireNonNull(event);
+
+        MarketKey key = new MarketKey(dataCenterName, event.itemId());
+
+        ItemBook itemBook = this.books.getIfPresent(key);
+
+        if (itemBook == null) {
+            return;
+        }
+
+        if (Objects.equals(event.event(), OrderBook.ADD_EVENT)) {
+            itemBook.add(worldName, event.listings());
+        } else if (Objects.equals(event.event(), OrderBook.REMOVE_EVENT)) {
+            itemBook.remove(worldName, event.listings());
+        }
+    }
+
+    public MarketListing getCheapestListing(String dataCenterName, int itemId, boolean hq) {
+        Objects.requireNonNull(dataCenterName);
+
+        ItemBook itemBook = this.books.getIfPresent(new MarketKey(dataCenterName, itemId));
+
+        if (itemBook == null) {
+            return null;
+        }
+
+        return itemBook.getCheapestListing(hq);
+    }
+
+    public CheapestListings getCheapestListings(String dataCenterName, int itemId) {
+        Objects.requireNonNull(dataCenterName);
+
+        ItemBook itemBook = this.books.getIfPresent(new MarketKey(dataCenterName, itemId));
+
+        if (itemBook == null) {
+            return null;
+        }
+
+        MarketListing normalQualityListing = itemBook.getCheapestListing(false);
+
+        MarketListing highQualityListing = itemBook.getCheapestListing(true);
+
+        return new CheapestListings(normalQualityListing, highQualityListing);
+    }
+
+    public List<MarketListing> getListings(String dataCenterName, int itemId) {
+        Objects.requireNonNull(dataCenterName);
+
+        ItemBook itemBook = this.books.getIfPresent(new MarketKey(dataCenterName, itemId));
+
+        if (itemBook == null) {
+            return null;
+        }
+
+        return itemBook.getListings();
+    }
+}
@@ -0,0 +1,180 @@
+package com.logankulinski.service;
+
+import com.logankulinski.model.MarketListing;
+import com.logankulinski.model.PurchasePlan;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public final class PurchasePlanner {
+    private static final Comparator<MarketListing> PRICE_ORDER;
+
+    static {
+        PRICE_ORDER = Comparator.comparingInt(MarketListing::pricePerUnit);
+    }
+
+    private PurchasePlanner() {
+    }
+
+    private static boolean isSorted(List<MarketListing> listings) {
+        for (int i = 1, size = listings.size(); i < size; i++) {
+            MarketListing previousListing = listings.get(i - 1);
+
+            MarketListing listing = listings.get(i);
+
+            if (previousListing.pricePerUnit() > listing.pricePerUnit()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static long getCost(MarketListing listing) {
+        return (long) listing.pricePerUnit() * listing.quantity();
+    }
+
+    /*
+     * Universalis and the order book both hand listings back sorted by unit price, so the copy and sort only happen
+     * for the odd unsorted input. Listings are bought as whole stacks, so the cheapest unit price is not always the
+     * cheapest way to finish: 999 shards at 5 gil lose to a 10-stack at 8 gil when 8 are needed. The fill therefore
+     * walks the stacks that fit inside the remaining quantity in price order, and at every step also prices finishing
+     * with the cheapest single later stack that covers the remainder, keeping whichever plan is cheapest. That is at
+     * most one scan per stack taken, so hundreds of listings stay cheap to plan.
+     */
+    private static PurchasePlan fill(List<MarketListing> listings, int quantity) {
+        List<MarketListing> sortedListings = listings;
+
+        if (!PurchasePlanner.isSorted(listings)) {
+            sortedListings = new ArrayList<>(listings);
+
+            sortedListings.sort(PurchasePlanner.PRICE_ORDER);
+        }
+
+        List<MarketListing> takenListings = new ArrayList<>();
+
+        int takenQuantity = 0;
+
+        long takenCost = 0L;
+
+        PurchasePlan cheapestPlan = null;
+
+        int size = sortedListings.size();
+
+        int start = 0;
+
+        while (true) {
+            int remaining = quantity - takenQuantity;
+
+            MarketListing coveringListing = null;
+
+            int nextIndex = -1;
+
+            for (int i = start; i < size; i++) {
+                MarketListing listing = sortedListings.get(i);
+
+                if (listing.quantity() <= 0) {
+                    continue;
+                }
+
+                if (listing.quantity() >= remaining) {
+                    if ((coveringListing == null) ||
+                        (PurchasePlanner.getCost(listing) < PurchasePlanner.getCost(coveringListing))) {
+                        coveringListing = listing;
+                    }
+                } else if (nextIndex == -1) {
+                    nextIndex = i;
+                }
+            }
+
+            if (coveringListing != null) {
+                long totalCost = takenCost + PurchasePlanner.getCost(coveringListing);
+
+                if ((cheapestPlan == null) || (totalCost < cheapestPlan.totalCost())) {
+                    List<MarketListing> purchasedListings = new ArrayList<>(takenListings);
+
+                    purchasedListings.add(coveringListing);
+
+                    int purchasedQuantity = takenQuantity + coveringListing.quantity();
+
+                    cheapestPlan = new PurchasePlan(purchasedQuantity, totalCost, List.copyOf(purchasedListings));
+                }
+            }
+
+            if (nextIndex == -1) {
+                break;
+            }
+
+            MarketListing nextListing = sortedListings.get(nextIndex);
+
+            takenListings.add(nextListing);
+
+            takenQuantity += nextListing.quantity();
+
+            takenCost += PurchasePlanner.getCost(nextListing);
+
+            if ((cheapestPlan != null) && (takenCost >= cheapestPlan.totalCost())) {
+                break;
+            }
+
+            start = nextIndex + 1;
+        }
+
+        return cheapestPlan;
+    }
+
+    public static PurchasePlan plan(List<MarketListing> listings, int quantity) {
+        Objects.requireNonNull(listings);
+
+        if (quantity <= 0) {
+            return new PurchasePlan(0, 0L, List.of());
+        }
+
+        return PurchasePlanner.fill(listings, quantity);
+    }
+
+    /*
+     * Prefers the cheapest plan that can be bought on a single world so a crafter does not have to travel for every
+     * stack. When no world has enough on its own, the listings are pooled across the data center instead.
+     */
+    public static PurchasePlan planSingleWorld(List<MarketListing> listings, int quantity) {
+        Objects.requireNonNull(listings);
+
+        if (quantity <= 0) {
+            return new PurchasePlan(0, 0L, List.of());
+        }
+
+        Map<String, List<MarketListing>> listingsByWorld = new HashMap<>();
+
+        for (MarketListing listing : listings) {
+            String worldName = listing.worldName();
+
+            if (worldName == null) {
+                continue;
+            }
+
+            listingsByWorld.computeIfAbsent(worldName, key -> new ArrayList<>())
+                           .add(listing);
+        }
+
+        PurchasePlan cheapestPlan = null;
+
+        for (List<MarketListing> worldListings : listingsByWorld.values()) {
+            PurchasePlan plan = PurchasePlanner.fill(worldListings, quantity);
+
+            if ((plan != null) && ((cheapestPlan == null) || (plan.totalCost() < cheapestPlan.totalCost()))) {
+                cheapestPlan = plan;
+            }
+        }
+
+        if (cheapestPlan != null) {
+            return cheapestPlan;
+        }
+
+        return PurchasePlanner.fill(listings, quantity);
+    }
+}
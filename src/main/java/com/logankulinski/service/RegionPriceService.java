@@ -0,0 +1,161 @@
+package com.logankulinski.service;
+
+import com.logankulinski.metrics.CommandMetrics;
+import com.logankulinski.metrics.CommandStage;
+import com.logankulinski.model.*;
+import de.chojo.universalis.worlds.DataCenter;
+import de.chojo.universalis.worlds.Worlds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+public final class RegionPriceService {
+    private final IngredientPricingService pricingService;
+
+    private final Duration commandDeadline;
+
+    private final CommandMetrics commandMetrics;
+
+    private static final Comparator<CheapestListings> PRICE_ORDER;
+
+    private static final Logger LOGGER;
+
+    static {
+        Comparator<MarketListing> listingOrder = Comparator.nullsLast(
+            Comparator.comparingInt(MarketListing::pricePerUnit));
+
+        PRICE_ORDER = Comparator.comparing(CheapestListings::normalQualityListing, listingOrder)
+                                .thenComparing(CheapestListings::highQualityListing, listingOrder);
+
+        LOGGER = LoggerFactory.getLogger(RegionPriceService.class);
+    }
+
+    @Autowired
+    public RegionPriceService(IngredientPricingService pricingService,
+        @Value("${commands.deadline}") Duration commandDeadline, CommandMetrics commandMetrics) {
+        this.pricingService = Objects.requireNonNull(pricingService);
+
+        this.commandDeadline = Objects.requireNonNull(commandDeadline);
+
+        this.commandMetrics = Objects.requireNonNull(commandMetrics);
+    }
+
+    private void awaitAll(Map<String, CompletableFuture<Map<Integer, MarketSnapshot>>> futures, long deadline) {
+        Objects.requireNonNull(futures);
+
+        CompletableFuture<?>[] futureArray = futures.values()
+                                                    .toArray(CompletableFuture[]::new);
+
+        try {
+            CompletableFuture.allOf(futureArray)
+                             .get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        } catch (ExecutionException e) {
+            String message = e.getMessage();
+
+            RegionPriceService.LOGGER.error(message, e);
+        } catch (TimeoutException e) {
+            RegionPriceService.LOGGER.warn("Region prices were not all fetched within {}", this.commandDeadline);
+        }
+    }
+
+    /*
+     * Every data center in the region is queried at once through the snapshot cache, and whatever has arrived by the
+     * command deadline is ranked. Requests that are still running are left to finish so their snapshots are cached
+     * for the next command.
+     */
+    public RegionPrices getRegionPrices(Region region, int itemId) {
+        Objects.requireNonNull(region);
+
+        long deadline = System.nanoTime() + this.commandDeadline.toNanos();
+
+        List<Integer> itemIds = List.of(itemId);
+
+        Map<String, CompletableFuture<Map<Integer, MarketSnapshot>>> futures = new LinkedHashMap<>();
+
+        for (String dataCenterName : region.getDataCenterNames()) {
+            DataCenter dataCenter = Worlds.datacenterByName(dataCenterName);
+
+            if (dataCenter == null) {
+                RegionPriceService.LOGGER.warn("Skipping unknown data center {}", dataCenterName);
+
+                futures.put(dataCenterName, CompletableFuture.completedFuture(Map.of()));
+
+                continue;
+            }
+
+            CompletableFuture<Map<Integer, MarketSnapshot>> future = this.pricingService.getSnapshotsAsync(dataCenter,
+                itemIds);
+
+            futures.put(dataCenterName, future);
+        }
+
+        try (CommandMetrics.StageTimer ignored = this.commandMetrics.start(CommandStage.MARKET_FETCH)) {
+            this.awaitAll(futures, deadline);
+        }
+
+        List<DataCenterPrice> dataCenterPrices = new ArrayList<>();
+
+        List<WorldPrice> worldPrices = new ArrayList<>();
+
+        List<String> missingDataCenterNames = new ArrayList<>();
+
+        Instant fetchedAt = null;
+
+        for (Map.Entry<String, CompletableFuture<Map<Integer, MarketSnapshot>>> entry : futures.entrySet()) {
+            String dataCenterName = entry.getKey();
+
+            CompletableFuture<Map<Integer, MarketSnapshot>> future = entry.getValue();
+
+            MarketSnapshot snapshot = null;
+
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                snapshot = future.join()
+                                 .get(itemId);
+            }
+
+            if (snapshot == null) {
+                missingDataCenterNames.add(dataCenterName);
+
+                continue;
+            }
+
+            ListingSelection selection = snapshot.selection();
+
+            dataCenterPrices.add(new DataCenterPrice(dataCenterName, selection.cheapestListings()));
+
+            selection.worldListings()
+                     .forEach((worldName, cheapestListings) -> worldPrices.add(new WorldPrice(dataCenterName,
+                         worldName, cheapestListings)));
+
+            if ((fetchedAt == null) || snapshot.fetchedAt()
+                                               .isBefore(fetchedAt)) {
+                fetchedAt = snapshot.fetchedAt();
+            }
+        }
+
+        dataCenterPrices.sort(Comparator.comparing(DataCenterPrice::cheapestListings, RegionPriceService.PRICE_ORDER));
+
+        worldPrices.sort(Comparator.comparing(WorldPrice::cheapestListings, RegionPriceService.PRICE_ORDER));
+
+        return new RegionPrices(dataCenterPrices, worldPrices, missingDataCenterNames, fetchedAt);
+    }
+}
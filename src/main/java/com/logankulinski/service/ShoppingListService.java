@@ -0,0 +1,102 @@
+package com.logankulinski.service;
+
+import com.logankulinski.model.*;
+import de.chojo.universalis.worlds.DataCenter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public final class ShoppingListService {
+    private final IngredientPricingService pricingService;
+
+    private final int chunkSize;
+
+    @Autowired
+    public ShoppingListService(IngredientPricingService pricingService,
+        @Value("${commands.shopping-list.chunk-size}") int chunkSize) {
+        this.pricingService = Objects.requireNonNull(pricingService);
+
+        if ((chunkSize <= 0) || (chunkSize > MarketSnapshotCache.MAX_ITEMS_PER_REQUEST)) {
+            String message = "chunkSize must be between 1 and %d".formatted(MarketSnapshotCache.MAX_ITEMS_PER_REQUEST);
+
+            throw new IllegalArgumentException(message);
+        }
+
+        this.chunkSize = chunkSize;
+    }
+
+    private ShoppingListLine getLine(ShoppingListItem item, List<MarketListing> listings) {
+        Objects.requireNonNull(item);
+
+        if (listings == null) {
+            return new ShoppingListLine(item, null, 0);
+        }
+
+        PurchasePlan plan = PurchasePlanner.plan(listings, item.quantity());
+
+        int availableQuantity = 0;
+
+        for (MarketListing listing : listings) {
+            availableQuantity += Math.max(listing.quantity(), 0);
+        }
+
+        return new ShoppingListLine(item, plan, availableQuantity);
+    }
+
+    private List<ShoppingListLine> getLines(List<ShoppingListItem> items, Map<Integer, List<MarketListing>> listings) {
+        Objects.requireNonNull(items);
+
+        Objects.requireNonNull(listings);
+
+        List<ShoppingListLine> lines = new ArrayList<>(items.size());
+
+        for (ShoppingListItem item : items) {
+            List<MarketListing> itemListings = listings.get(item.itemId());
+
+            ShoppingListLine line = this.getLine(item, itemListings);
+
+            lines.add(line);
+        }
+
+        return lines;
+    }
+
+    /*
+     * Each chunk becomes one multi-item market request, and its future completes on its own so the caller can show
+     * the first chunks while the rest are still in flight.
+     */
+    public List<CompletableFuture<List<ShoppingListLine>>> price(DataCenter dataCenter, List<ShoppingListItem> items) {
+        Objects.requireNonNull(dataCenter);
+
+        Objects.requireNonNull(items);
+
+        List<CompletableFuture<List<ShoppingListLine>>> futures = new ArrayList<>();
+
+        for (int start = 0; start < items.size(); start += this.chunkSize) {
+            int end = Math.min(start + this.chunkSize, items.size());
+
+            List<ShoppingListItem> chunk = List.copyOf(items.subList(start, end));
+
+            List<Integer> itemIds = chunk.stream()
+                                         .map(ShoppingListItem::itemId)
+                                         .toList();
+
+            CompletableFuture<Map<Integer, List<MarketListing>>> listingsFuture =
+                this.pricingService.getListingsAsync(dataCenter, itemIds);
+
+            CompletableFuture<List<ShoppingListLine>> future = listingsFuture.thenApply(
+                listings -> this.getLines(chunk, listings));
+
+            futures.add(future);
+        }
+
+        return futures;
+    }
+}
@@ -0,0 +1,332 @@
+package com.logankulinski.store;
+
+import com.logankulinski.serialization.CatalogCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * An append-only file of [int key][int length][long written at][payload] records behind a [magic][format][catalog
+ * version] header. The file is memory-mapped when it is opened and only the record headers are scanned, so payloads
+ * are decoded on demand. Records appended afterwards are read through the channel, and a later record for the same key
+ * replaces an earlier one. A file written for another catalog version, usually the previous game patch, is discarded
+ * on open, and a record older than the maximum age reads as missing so the caller refetches and rewrites it.
+ */
+public final class CatalogStore<T> implements AutoCloseable {
+    private final Path path;
+
+    private final CatalogCodec<T> codec;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer mappedBuffer;
+
+    private final long maxAgeMillis;
+
+    private final Map<Integer, Long> offsets;
+
+    private long mappedSize;
+
+    private long size;
+
+    private static final int MAGIC;
+
+    private static final int FORMAT_VERSION;
+
+    private static final int MAX_VERSION_LENGTH;
+
+    private static final int HEADER_SIZE;
+
+    private static final Logger LOGGER;
+
+    static {
+        MAGIC = 0x58435331;
+
+        FORMAT_VERSION = 2;
+
+        MAX_VERSION_LENGTH = 256;
+
+        HEADER_SIZE = (Integer.BYTES * 2) + Long.BYTES;
+
+        LOGGER = LoggerFactory.getLogger(CatalogStore.class);
+    }
+
+    private CatalogStore(Path path, CatalogCodec<T> codec, FileChannel channel, MappedByteBuffer mappedBuffer,
+        Duration maxAge) {
+        Objects.requireNonNull(maxAge);
+
+        this.path = Objects.requireNonNull(path);
+
+        this.codec = Objects.requireNonNull(codec);
+
+        this.channel = Objects.requireNonNull(channel);
+
+        this.mappedBuffer = Objects.requireNonNull(mappedBuffer);
+
+        this.maxAgeMillis = maxAge.toMillis();
+
+        this.offsets = new ConcurrentHashMap<>();
+    }
+
+    private static byte[] getFileHeader(String catalogVersion) {
+        Objects.requireNonNull(catalogVersion);
+
+        byte[] versionBytes = catalogVersion.getBytes(StandardCharsets.UTF_8);
+
+        if (versionBytes.length > CatalogStore.MAX_VERSION_LENGTH) {
+            String message = "The catalog version \"%s\" is too long".formatted(catalogVersion);
+
+            throw new IllegalArgumentException(message);
+        }
+
+        return ByteBuffer.allocate((Integer.BYTES * 3) + versionBytes.length)
+                         .putInt(CatalogStore.MAGIC)
+                         .putInt(CatalogStore.FORMAT_VERSION)
+                         .putInt(versionBytes.length)
+                         .put(versionBytes)
+                         .array();
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        Objects.requireNonNull(channel);
+
+        Objects.requireNonNull(buffer);
+
+        int start = buffer.position();
+
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + (buffer.position() - start));
+
+            if (read < 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean hasHeader(FileChannel channel, byte[] fileHeader) throws IOException {
+        Objects.requireNonNull(channel);
+
+        Objects.requireNonNull(fileHeader);
+
+        ByteBuffer buffer = ByteBuffer.allocate(fileHeader.length);
+
+        if (!CatalogStore.readFully(channel, buffer, 0L)) {
+            return false;
+        }
+
+        return Arrays.equals(buffer.array(), fileHeader);
+    }
+
+    public static <T> CatalogStore<T> open(Path path, CatalogCodec<T> codec, String catalogVersion, Duration maxAge)
+        throws IOException {
+        Objects.requireNonNull(path);
+
+        Objects.requireNonNull(codec);
+
+        Objects.requireNonNull(maxAge);
+
+        byte[] fileHeader = CatalogStore.getFileHeader(catalogVersion);
+
+        Path parent = path.toAbsolutePath()
+                          .getParent();
+
+        Files.createDirectories(parent);
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+
+        if (!CatalogStore.hasHeader(channel, fileHeader)) {
+            if (channel.size() > 0L) {
+                CatalogStore.LOGGER.info("Discarding {} because it was written for another catalog version", path);
+            }
+
+            channel.truncate(0L);
+
+            ByteBuffer buffer = ByteBuffer.wrap(fileHeader);
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, buffer.position());
+            }
+
+            channel.force(true);
+        }
+
+        MappedByteBuffer mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+
+        CatalogStore<T> store = new CatalogStore<>(path, codec, channel, mappedBuffer, maxAge);
+
+        store.scan(fileHeader.length);
+
+        return store;
+    }
+
+    private void scan(long dataStart) throws IOException {
+        long limit = this.mappedBuffer.limit();
+
+        long position = dataStart;
+
+        while ((position + CatalogStore.HEADER_SIZE) <= limit) {
+            int key = this.mappedBuffer.getInt((int) position);
+
+            int length = this.mappedBuffer.getInt((int) position + Integer.BYTES);
+
+            long next = position + CatalogStore.HEADER_SIZE + length;
+
+            if ((length < 0) || (next > limit)) {
+                break;
+            }
+
+            this.offsets.put(key, position);
+
+            position = next;
+        }
+
+        if (position < limit) {
+            CatalogStore.LOGGER.warn("Truncating {} partial bytes at the end of {}", limit - position, this.path);
+
+            this.channel.truncate(position);
+        }
+
+        this.mappedSize = position;
+
+        this.size = position;
+
+        CatalogStore.LOGGER.info("Opened {} with {} records", this.path, this.offsets.size());
+    }
+
+    private boolean isExpired(long writtenAt) {
+        return (System.currentTimeMillis() - writtenAt) > this.maxAgeMillis;
+    }
+
+    /*
+     * Returns null for a record that has outlived the maximum age.
+     */
+    private byte[] read(long offset) throws IOException {
+        if (offset < this.mappedSize) {
+            int length = this.mappedBuffer.getInt((int) offset + Integer.BYTES);
+
+            long writtenAt = this.mappedBuffer.getLong((int) offset + (Integer.BYTES * 2));
+
+            if (this.isExpired(writtenAt)) {
+                return null;
+            }
+
+            byte[] payload = new byte[length];
+
+            this.mappedBuffer.get((int) offset + CatalogStore.HEADER_SIZE, payload);
+
+            return payload;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(CatalogStore.HEADER_SIZE);
+
+        if (!CatalogStore.readFully(this.channel, header, offset)) {
+            throw new IOException("Unexpected end of %s".formatted(this.path));
+        }
+
+        int length = header.getInt(Integer.BYTES);
+
+        long writtenAt = header.getLong(Integer.BYTES * 2);
+
+        if (this.isExpired(writtenAt)) {
+            return null;
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(length);
+
+        if (!CatalogStore.readFully(this.channel, payload, offset + CatalogStore.HEADER_SIZE)) {
+            throw new IOException("Unexpected end of %s".formatted(this.path));
+        }
+
+        return payload.array();
+    }
+
+    public T get(int key) {
+        Long offset = this.offsets.get(key);
+
+        if (offset == null) {
+            return null;
+        }
+
+        try {
+            byte[] payload = this.read(offset);
+
+            if (payload == null) {
+                return null;
+            }
+
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload));
+
+            return this.codec.decode(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void put(int key, T value) {
+        Objects.requireNonNull(value);
+
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+
+        try {
+            DataOutputStream output = new DataOutputStream(byteStream);
+
+            this.codec.encode(value, output);
+
+            output.flush();
+
+            byte[] payload = byteStream.toByteArray();
+
+            ByteBuffer record = ByteBuffer.allocate(CatalogStore.HEADER_SIZE + payload.length);
+
+            record.putInt(key)
+                  .putInt(payload.length)
+                  .putLong(System.currentTimeMillis())
+                  .put(payload)
+                  .flip();
+
+            long offset = this.size;
+
+            while (record.hasRemaining()) {
+                this.channel.write(record, offset + record.position());
+            }
+
+            this.size = offset + record.limit();
+
+            this.offsets.put(key, offset);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int size() {
+        return this.offsets.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.force(true);
+
+        this.channel.close();
+    }
+}
@@ -0,0 +1,221 @@
+package com.logankulinski.client;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logankulinski.model.CheapestListings;
+import com.logankulinski.model.ListingEvent;
+import com.logankulinski.model.MarketBoard;
+import com.logankulinski.model.MarketListing;
+import com.logankulinski.serialization.ListingEventCodec;
+import com.logankulinski.service.OrderBook;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.websocket.WebsocketInbound;
+import reactor.netty.http.websocket.WebsocketOutbound;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UniversalisWebSocketClientTests {
+    private static final String DATA_CENTER_NAME;
+
+    private static final Map<Integer, String> WORLD_NAMES;
+
+    private static final List<String> CHANNELS;
+
+    static {
+        DATA_CENTER_NAME = "Aether";
+
+        WORLD_NAMES = Map.of(73, "Adamantoise", 79, "Cactuar");
+
+        CHANNELS = List.of("listings/add{world=73}", "listings/remove{world=73}", "listings/add{world=79}",
+            "listings/remove{world=79}");
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper().configure(
+        DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final List<String> subscribedChannels = new CopyOnWriteArrayList<>();
+
+    private DisposableServer server;
+
+    private byte[] readFixture(String name) throws IOException {
+        try (InputStream inputStream = this.getClass()
+                                           .getResourceAsStream("/fixtures/universalis/%s".formatted(name))) {
+            assertNotNull(inputStream, name);
+
+            return inputStream.readAllBytes();
+        }
+    }
+
+    private List<byte[]> getRecordedEvents() throws IOException {
+        JsonNode events = this.objectMapper.readTree(this.readFixture("listing-events.json"));
+
+        List<byte[]> messages = new ArrayList<>();
+
+        for (JsonNode event : events) {
+            BsonDocument document = BsonDocument.parse(event.toString());
+
+            RawBsonDocument rawDocument = new RawBsonDocument(document, new BsonDocumentCodec());
+
+            byte[] bytes = new byte[rawDocument.getByteBuffer()
+                                               .remaining()];
+
+            rawDocument.getByteBuffer()
+                       .get(bytes);
+
+            messages.add(bytes);
+        }
+
+        return messages;
+    }
+
+    private String getChannel(WebSocketFrame frame) {
+        byte[] bytes = ByteBufUtil.getBytes(frame.content());
+
+        BsonDocument document = new RawBsonDocument(bytes);
+
+        return document.getString("channel")
+                       .getValue();
+    }
+
+    private Publisher<Void> replay(WebsocketInbound inbound, WebsocketOutbound outbound, List<byte[]> events) {
+        Flux<BinaryWebSocketFrame> frames = inbound.receiveFrames()
+                                                   .map(this::getChannel)
+                                                   .doOnNext(this.subscribedChannels::add)
+                                                   .filter(channel -> this.subscribedChannels.size() == CHANNELS.size())
+                                                   .flatMapIterable(channel -> events)
+                                                   .map(Unpooled::wrappedBuffer)
+                                                   .map(BinaryWebSocketFrame::new);
+
+        return outbound.sendObject(frames)
+                       .neverComplete();
+    }
+
+    @BeforeEach
+    void startServer() throws IOException {
+        List<byte[]> events = this.getRecordedEvents();
+
+        this.server = HttpServer.create()
+                                .host("localhost")
+                                .port(0)
+                                .route(routes -> routes.ws("/api/ws",
+                                    (inbound, outbound) -> this.replay(inbound, outbound, events)))
+                                .bindNow();
+    }
+
+    @AfterEach
+    void stopServer() {
+        this.server.disposeNow();
+    }
+
+    @Test
+    void replaysListingEventsIntoOrderBook() throws Exception {
+        OrderBook orderBook = new OrderBook(DATA_CENTER_NAME, 100L, new SimpleMeterRegistry());
+
+        MarketBoard marketBoard = this.objectMapper.readValue(this.readFixture("market-board-5057.json"),
+            MarketBoard.class);
+
+        orderBook.seed(DATA_CENTER_NAME, marketBoard.itemId(), marketBoard);
+
+        CountDownLatch eventLatch = new CountDownLatch(this.getRecordedEvents()
+                                                           .size());
+
+        URI uri = URI.create("ws://localhost:%d/api/ws".formatted(this.server.port()));
+
+        HttpClient httpClient = HttpClient.newHttpClient();
+
+        UniversalisWebSocketClient client = new UniversalisWebSocketClient(httpClient, uri, CHANNELS, event -> {
+            String worldName = WORLD_NAMES.get(event.worldId());
+
+            orderBook.apply(DATA_CENTER_NAME, worldName, event);
+
+            eventLatch.countDown();
+        }, () -> {
+        }, Duration.ofSeconds(1L));
+
+        try (client) {
+            client.connect()
+                  .get(10L, TimeUnit.SECONDS);
+
+            assertTrue(eventLatch.await(10L, TimeUnit.SECONDS));
+        }
+
+        assertEquals(CHANNELS, this.subscribedChannels);
+
+        CheapestListings cheapestListings = orderBook.getCheapestListings(DATA_CENTER_NAME, 5057);
+
+        assertNotNull(cheapestListings);
+
+        MarketListing normalQualityListing = cheapestListings.normalQualityListing();
+
+        assertEquals("6251413290413431101", normalQualityListing.listingId());
+
+        assertEquals(95, normalQualityListing.pricePerUnit());
+
+        assertEquals("Adamantoise", normalQualityListing.worldName());
+
+        MarketListing highQualityListing = cheapestListings.highQualityListing();
+
+        assertEquals("6251413290413431103", highQualityListing.listingId());
+
+        assertEquals("Cactuar", highQualityListing.worldName());
+
+        List<Integer> prices = orderBook.getListings(DATA_CENTER_NAME, 5057)
+                                        .stream()
+                                        .map(MarketListing::pricePerUnit)
+                                        .toList();
+
+        assertEquals(List.of(95, 120, 130, 300, 450), prices);
+
+        assertNull(orderBook.getListings(DATA_CENTER_NAME, 9999));
+    }
+
+    @Test
+    void decodesRecordedEvent() throws IOException {
+        ListingEventCodec codec = new ListingEventCodec();
+
+        byte[] message = this.getRecordedEvents()
+                             .getFirst();
+
+        ListingEvent event = codec.decode(ByteBuffer.wrap(message));
+
+        assertEquals("listings/add", event.event());
+
+        assertEquals(5057, event.itemId());
+
+        assertEquals(73, event.worldId());
+
+        assertEquals(1, event.listings()
+                             .size());
+    }
+}
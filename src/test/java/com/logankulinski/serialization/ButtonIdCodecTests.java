@@ -0,0 +1,69 @@
+package com.logankulinski.serialization;
+
+import com.logankulinski.model.ButtonMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ButtonIdCodecTests {
+    private final ButtonIdCodec codec = new ButtonIdCodec();
+
+    @Test
+    void roundTripsKnownDataCenters() {
+        ButtonMetadata metadata = new ButtonMetadata("Meteor", 36030);
+
+        String id = this.codec.encode(metadata);
+
+        assertEquals(8, id.length());
+
+        assertEquals(metadata, this.codec.decode(id));
+    }
+
+    @Test
+    void keepsDataCenterOrdinalsStable() {
+        assertEquals("rAQC-mQI", this.codec.encode(new ButtonMetadata("Aether", 36030)));
+
+        assertEquals("rAQq-mQI", this.codec.encode(new ButtonMetadata("Meteor", 36030)));
+    }
+
+    @Test
+    void roundTripsUnknownDataCentersAndExtremeIds() {
+        for (int itemId : new int[] {0, 127, 128, Integer.MAX_VALUE, -1}) {
+            ButtonMetadata metadata = new ButtonMetadata("Shadow", itemId);
+
+            String id = this.codec.encode(metadata);
+
+            assertTrue(id.length() <= 100);
+
+            assertEquals(metadata, this.codec.decode(id));
+        }
+    }
+
+    @Test
+    void rejectsForeignAndMalformedIds() {
+        String legacyId = Base64.getEncoder()
+                                .encodeToString("{\"dataCenter\":\"Aether\",\"id\":36030}".getBytes());
+
+        String validId = this.codec.encode(new ButtonMetadata("Aether", 36030));
+
+        assertNull(this.codec.decode(null));
+
+        assertNull(this.codec.decode(""));
+
+        assertNull(this.codec.decode(legacyId));
+
+        assertNull(this.codec.decode("pagination:next:3"));
+
+        assertNull(this.codec.decode("r!!!!"));
+
+        assertNull(this.codec.decode("r" + "_".repeat(8)));
+
+        assertNull(this.codec.decode(validId.substring(0, validId.length() - 1)));
+
+        assertNull(this.codec.decode(validId + "AA"));
+    }
+}
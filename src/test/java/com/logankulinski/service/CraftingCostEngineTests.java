@@ -0,0 +1,164 @@
+package com.logankulinski.service;
+
+import com.logankulinski.client.XIVAPIClient;
+import com.logankulinski.metrics.CommandMetrics;
+import com.logankulinski.model.Ingredient;
+import com.logankulinski.model.Item;
+import com.logankulinski.model.MarketListing;
+import com.logankulinski.model.Recipe;
+import de.chojo.universalis.worlds.DataCenter;
+import de.chojo.universalis.worlds.Worlds;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CraftingCostEngineTests {
+    private XIVAPIClient xivapiClient;
+
+    private IngredientPricingService pricingService;
+
+    private CommandMetrics commandMetrics;
+
+    private CraftingCostEngine engine;
+
+    private DataCenter dataCenter;
+
+    @BeforeEach
+    void setUp() {
+        this.xivapiClient = mock(XIVAPIClient.class);
+
+        this.pricingService = mock(IngredientPricingService.class);
+
+        this.commandMetrics = new CommandMetrics(new SimpleMeterRegistry());
+
+        this.engine = new CraftingCostEngine(this.xivapiClient, this.pricingService, Duration.ofSeconds(5L), 2,
+            this.commandMetrics);
+
+        this.dataCenter = Worlds.datacenterByName("Aether");
+
+        Map<Integer, List<MarketListing>> listings = Map.of(
+            2, List.of(new MarketListing(null, 100, 1, "Adamantoise", false)),
+            3, List.of(new MarketListing(null, 10, 2, "Cactuar", false)));
+
+        when(this.pricingService.getListingsAsync(any(), any())).thenReturn(
+            CompletableFuture.completedFuture(listings));
+
+        List<Ingredient> ingredients = List.of(new Ingredient(2, "First", 1), new Ingredient(3, "Second", 2));
+
+        Recipe recipe = new Recipe(10, "Root", 1, ingredients);
+
+        when(this.xivapiClient.getRecipeAsync(10)).thenReturn(CompletableFuture.completedFuture(recipe));
+
+        Item rootItem = new Item(1, "Root", List.of(new Item.Recipe(10, 90, 8)));
+
+        when(this.xivapiClient.getItemAsync(1)).thenReturn(CompletableFuture.completedFuture(rootItem));
+
+        when(this.xivapiClient.getItemAsync(3)).thenReturn(CompletableFuture.completedFuture(
+            new Item(3, "Second", List.of())));
+    }
+
+    @Test
+    void buysAnIngredientThatFailedToExpand() {
+        when(this.xivapiClient.getItemAsync(2)).thenReturn(CompletableFuture.failedFuture(
+            new IllegalStateException("XIVAPI is unavailable")));
+
+        assertEquals(120L, this.engine.getCheapestCraftingCost(this.dataCenter, 1));
+    }
+
+    @Test
+    void failsWhenTheRootItemCannotBeFetched() {
+        when(this.xivapiClient.getItemAsync(1)).thenReturn(CompletableFuture.failedFuture(
+            new IllegalStateException("XIVAPI is unavailable")));
+
+        assertNull(this.engine.getCheapestCraftingCost(this.dataCenter, 1));
+    }
+
+    @Test
+    void limitsTheLookupsInFlight() {
+        AtomicInteger inFlight = new AtomicInteger();
+
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        Executor executor = CompletableFuture.delayedExecutor(20L, TimeUnit.MILLISECONDS);
+
+        for (int itemId : new int[] {2, 3}) {
+            when(this.xivapiClient.getItemAsync(itemId)).thenAnswer(invocation -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+                return CompletableFuture.supplyAsync(() -> {
+                    inFlight.decrementAndGet();
+
+                    return new Item(itemId, "Ingredient", List.of());
+                }, executor);
+            });
+        }
+
+        CraftingCostEngine engine = new CraftingCostEngine(this.xivapiClient, this.pricingService,
+            Duration.ofSeconds(5L), 1, this.commandMetrics);
+
+        assertEquals(120L, engine.getCheapestCraftingCost(this.dataCenter, 1));
+
+        assertEquals(1, maxInFlight.get());
+    }
+
+    @Test
+    void cannotPriceARecipeWhoseQuantityOverflows() {
+        List<Ingredient> ingredients = List.of(new Ingredient(3, "Second", Integer.MAX_VALUE));
+
+        Recipe recipe = new Recipe(10, "Root", 1, ingredients);
+
+        when(this.xivapiClient.getRecipeAsync(10)).thenReturn(CompletableFuture.completedFuture(recipe));
+
+        assertNull(this.engine.getCheapestCraftingCost(this.dataCenter, 1, 2, false));
+    }
+
+    @Test
+    void doesNotReuseACostThatWasCutShortByACycle() {
+        Map<Integer, List<MarketListing>> listings = Map.of(
+            2, List.of(new MarketListing(null, 100, 1, "Adamantoise", false)),
+            3, List.of(new MarketListing(null, 1000, 1, "Adamantoise", false)),
+            4, List.of(new MarketListing(null, 5, 1, "Cactuar", false)));
+
+        when(this.pricingService.getListingsAsync(any(), any())).thenReturn(
+            CompletableFuture.completedFuture(listings));
+
+        when(this.xivapiClient.getItemAsync(2)).thenReturn(CompletableFuture.completedFuture(
+            new Item(2, "First", List.of(new Item.Recipe(20, 90, 8), new Item.Recipe(21, 90, 8)))));
+
+        when(this.xivapiClient.getItemAsync(3)).thenReturn(CompletableFuture.completedFuture(
+            new Item(3, "Second", List.of(new Item.Recipe(30, 90, 8)))));
+
+        when(this.xivapiClient.getItemAsync(4)).thenReturn(CompletableFuture.completedFuture(
+            new Item(4, "Third", List.of())));
+
+        when(this.xivapiClient.getRecipeAsync(20)).thenReturn(CompletableFuture.completedFuture(
+            new Recipe(20, "First", 1, List.of(new Ingredient(3, "Second", 1)))));
+
+        when(this.xivapiClient.getRecipeAsync(21)).thenReturn(CompletableFuture.completedFuture(
+            new Recipe(21, "First", 1, List.of(new Ingredient(4, "Third", 1)))));
+
+        when(this.xivapiClient.getRecipeAsync(30)).thenReturn(CompletableFuture.completedFuture(
+            new Recipe(30, "Second", 1, List.of(new Ingredient(2, "First", 1)))));
+
+        List<Ingredient> ingredients = List.of(new Ingredient(2, "First", 1), new Ingredient(3, "Second", 1));
+
+        when(this.xivapiClient.getRecipeAsync(10)).thenReturn(CompletableFuture.completedFuture(
+            new Recipe(10, "Root", 1, ingredients)));
+
+        assertEquals(10L, this.engine.getCheapestCraftingCost(this.dataCenter, 1));
+    }
+}
@@ -0,0 +1,76 @@
+package com.logankulinski.service;
+
+import com.logankulinski.client.XIVAPIClient;
+import com.logankulinski.model.ItemName;
+import com.logankulinski.model.Pagination;
+import com.logankulinski.model.Result;
+import com.logankulinski.model.SearchResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemNameIndexTests {
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.executor.close();
+    }
+
+    private static SearchResponse page(int page, int pageTotal, int id, String name) {
+        Pagination pagination = new Pagination(page, null, null, pageTotal, 1, 1, pageTotal);
+
+        Result result = new Result(id, null, name, "/Item/%d".formatted(id), "Item");
+
+        return new SearchResponse(pagination, List.of(result));
+    }
+
+    @Test
+    void fetchesEachPageOnceAndRetriesFailedPages() throws InterruptedException {
+        XIVAPIClient xivapiClient = mock(XIVAPIClient.class);
+
+        when(xivapiClient.getItems(1)).thenReturn(ItemNameIndexTests.page(1, 2, 5057, "Bronze Ingot"));
+
+        when(xivapiClient.getItems(2)).thenThrow(new ResourceAccessException("Connection reset"))
+                                      .thenReturn(ItemNameIndexTests.page(2, 2, 36030,
+                                          "Augmented Classical Longsword"));
+
+        ItemNameIndex itemNameIndex = new ItemNameIndex(xivapiClient, this.executor);
+
+        itemNameIndex.build();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+
+        while (!itemNameIndex.isReady() && (System.nanoTime() < deadline)) {
+            Thread.sleep(10L);
+        }
+
+        assertTrue(itemNameIndex.isReady());
+
+        assertEquals(new ItemName(5057, "Bronze Ingot"), itemNameIndex.find("bronze ingot"));
+
+        assertEquals(new ItemName(36030, "Augmented Classical Longsword"), itemNameIndex.find("augmented"));
+
+        verify(xivapiClient, times(1)).getItems(1);
+
+        verify(xivapiClient, times(2)).getItems(2);
+    }
+}
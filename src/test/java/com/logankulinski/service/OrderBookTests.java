@@ -0,0 +1,40 @@
+package com.logankulinski.service;
+
+import com.logankulinski.model.ListingEvent;
+import com.logankulinski.model.MarketBoard;
+import com.logankulinski.model.MarketListing;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OrderBookTests {
+    private static final String DATA_CENTER_NAME = "Aether";
+
+    @Test
+    void skipsListingsWithoutAnId() {
+        OrderBook orderBook = new OrderBook(DATA_CENTER_NAME, 100L, new SimpleMeterRegistry());
+
+        MarketListing firstListing = new MarketListing("1", 100, 1, "Adamantoise", false);
+
+        MarketListing secondListing = new MarketListing("2", 100, 1, "Adamantoise", false);
+
+        orderBook.seed(DATA_CENTER_NAME, 5057, new MarketBoard(5057, 0L, List.of(firstListing, secondListing)));
+
+        List<MarketListing> unidentifiedListings = List.of(new MarketListing(null, 10, 1, null, false),
+            new MarketListing(null, 10, 5, null, false));
+
+        orderBook.apply(DATA_CENTER_NAME, "Cactuar", new ListingEvent("listings/add", 5057, 0, unidentifiedListings));
+
+        assertEquals(List.of(firstListing, secondListing), orderBook.getListings(DATA_CENTER_NAME, 5057));
+
+        assertEquals(firstListing, orderBook.getCheapestListing(DATA_CENTER_NAME, 5057, false));
+
+        orderBook.apply(DATA_CENTER_NAME, "Adamantoise", new ListingEvent("listings/remove", 5057, 0,
+            List.of(firstListing)));
+
+        assertEquals(secondListing, orderBook.getCheapestListing(DATA_CENTER_NAME, 5057, false));
+    }
+}
@@ -0,0 +1,111 @@
+package com.logankulinski.service;
+
+import com.logankulinski.model.MarketListing;
+import com.logankulinski.model.PurchasePlan;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PurchasePlannerTests {
+    private static MarketListing listing(int pricePerUnit, int quantity, String worldName) {
+        return new MarketListing(null, pricePerUnit, quantity, worldName, false);
+    }
+
+    @Test
+    void prefersASmallerStackOverOvershootingACheaperOne() {
+        MarketListing bulkListing = PurchasePlannerTests.listing(5, 999, "Adamantoise");
+
+        MarketListing smallListing = PurchasePlannerTests.listing(8, 10, "Cactuar");
+
+        PurchasePlan plan = PurchasePlanner.plan(List.of(bulkListing, smallListing), 8);
+
+        assertNotNull(plan);
+
+        assertEquals(80L, plan.totalCost());
+
+        assertEquals(10, plan.quantity());
+
+        assertEquals(List.of(smallListing), plan.listings());
+    }
+
+    @Test
+    void combinesFittingStacksBeforeCoveringTheRemainder() {
+        MarketListing firstListing = PurchasePlannerTests.listing(10, 2, "Adamantoise");
+
+        MarketListing secondListing = PurchasePlannerTests.listing(11, 3, "Adamantoise");
+
+        MarketListing thirdListing = PurchasePlannerTests.listing(20, 5, "Cactuar");
+
+        PurchasePlan plan = PurchasePlanner.plan(List.of(firstListing, secondListing, thirdListing), 8);
+
+        assertNotNull(plan);
+
+        assertEquals(153L, plan.totalCost());
+
+        assertEquals(10, plan.quantity());
+    }
+
+    @Test
+    void fillsAnExactQuantity() {
+        MarketListing firstListing = PurchasePlannerTests.listing(100, 3, "Adamantoise");
+
+        MarketListing secondListing = PurchasePlannerTests.listing(120, 5, "Cactuar");
+
+        PurchasePlan plan = PurchasePlanner.plan(List.of(secondListing, firstListing), 8);
+
+        assertNotNull(plan);
+
+        assertEquals(900L, plan.totalCost());
+
+        assertEquals(8, plan.quantity());
+
+        assertEquals(List.of(firstListing, secondListing), plan.listings());
+    }
+
+    @Test
+    void returnsNullWhenTheListingsAreShort() {
+        List<MarketListing> listings = List.of(PurchasePlannerTests.listing(10, 2, "Adamantoise"),
+            PurchasePlannerTests.listing(12, 3, "Cactuar"));
+
+        assertNull(PurchasePlanner.plan(listings, 8));
+
+        assertEquals(0L, PurchasePlanner.plan(listings, 0)
+                                        .totalCost());
+    }
+
+    @Test
+    void prefersTheCheapestSingleWorld() {
+        MarketListing cheapListing = PurchasePlannerTests.listing(5, 4, "Adamantoise");
+
+        MarketListing bulkListing = PurchasePlannerTests.listing(9, 99, "Adamantoise");
+
+        MarketListing worldListing = PurchasePlannerTests.listing(7, 10, "Cactuar");
+
+        PurchasePlan plan = PurchasePlanner.planSingleWorld(List.of(cheapListing, worldListing, bulkListing), 8);
+
+        assertNotNull(plan);
+
+        assertEquals(70L, plan.totalCost());
+
+        assertEquals(List.of(worldListing), plan.listings());
+    }
+
+    @Test
+    void poolsWorldsWhenNoSingleWorldHasEnough() {
+        MarketListing firstListing = PurchasePlannerTests.listing(5, 4, "Adamantoise");
+
+        MarketListing secondListing = PurchasePlannerTests.listing(6, 4, "Cactuar");
+
+        PurchasePlan plan = PurchasePlanner.planSingleWorld(List.of(firstListing, secondListing), 8);
+
+        assertNotNull(plan);
+
+        assertEquals(44L, plan.totalCost());
+
+        assertEquals(8, plan.quantity());
+    }
+}
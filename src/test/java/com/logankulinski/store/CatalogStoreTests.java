@@ -0,0 +1,86 @@
+package com.logankulinski.store;
+
+import com.logankulinski.model.Item;
+import com.logankulinski.serialization.ItemCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CatalogStoreTests {
+    @TempDir
+    private Path directory;
+
+    private static Item item(int id) {
+        Item.Recipe recipe = new Item.Recipe(id - 1000, 90, 8);
+
+        return new Item(id, "Item %d".formatted(id), List.of(recipe));
+    }
+
+    @Test
+    void readsRecordsBackAfterReopening() throws IOException {
+        Path path = this.directory.resolve("items.bin");
+
+        Item item = CatalogStoreTests.item(36030);
+
+        try (CatalogStore<Item> store = CatalogStore.open(path, new ItemCodec(), "7.0", Duration.ofDays(7L))) {
+            store.put(item.id(), item);
+
+            assertEquals(item, store.get(item.id()));
+        }
+
+        try (CatalogStore<Item> store = CatalogStore.open(path, new ItemCodec(), "7.0", Duration.ofDays(7L))) {
+            assertEquals(1, store.size());
+
+            assertEquals(item, store.get(item.id()));
+        }
+    }
+
+    @Test
+    void discardsAFileWrittenForAnotherVersion() throws IOException {
+        Path path = this.directory.resolve("items.bin");
+
+        Item item = CatalogStoreTests.item(36030);
+
+        try (CatalogStore<Item> store = CatalogStore.open(path, new ItemCodec(), "7.0", Duration.ofDays(7L))) {
+            store.put(item.id(), item);
+        }
+
+        try (CatalogStore<Item> store = CatalogStore.open(path, new ItemCodec(), "7.1", Duration.ofDays(7L))) {
+            assertEquals(0, store.size());
+
+            assertNull(store.get(item.id()));
+        }
+    }
+
+    @Test
+    void discardsAFileWithoutAHeader() throws IOException {
+        Path path = this.directory.resolve("items.bin");
+
+        Files.write(path, new byte[] {0, 0, 0x7D, 0x5E, 0, 0, 0, 4, 1, 2, 3, 4});
+
+        try (CatalogStore<Item> store = CatalogStore.open(path, new ItemCodec(), "7.0", Duration.ofDays(7L))) {
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    void treatsExpiredRecordsAsMissing() throws IOException {
+        Path path = this.directory.resolve("items.bin");
+
+        Item item = CatalogStoreTests.item(36030);
+
+        try (CatalogStore<Item> store = CatalogStore.open(path, new ItemCodec(), "7.0", Duration.ofMillis(-1L))) {
+            store.put(item.id(), item);
+
+            assertNull(store.get(item.id()));
+        }
+    }
+}